@@ -0,0 +1,129 @@
+package com.service.eventservice.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Size bounded LRU cache whose entries also expire after a fixed time to live.
+ * Each key with loads in flight has a generation that its invalidations bump, and
+ * a value loaded while the generation of its key moved on is returned to its caller
+ * but never stored, so a load that raced with a write cannot put stale data back
+ * into the cache, while writes to other keys leave it alone. Concurrent misses on
+ * the same key share a single load.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final SingleFlight<K, V> loads = new SingleFlight<>();
+    private final Map<K, Generation> loading = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public BoundedCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, ttl, unit, System::nanoTime);
+    }
+
+    BoundedCache(int maxSize, long ttl, TimeUnit unit, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        Generation generation;
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - ticker.getAsLong() > 0) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            generation = loading.computeIfAbsent(key, k -> new Generation());
+            generation.loads++;
+            loadGeneration = generation.value;
+        }
+        V value = null;
+        try {
+            value = loads.load(key, loader);
+        } finally {
+            synchronized (this) {
+                if (loadGeneration == generation.value && value != null) {
+                    entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+                }
+                if (--generation.loads == 0) {
+                    loading.remove(key);
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        Generation generation = loading.get(key);
+        if (generation != null) {
+            generation.value++;
+        }
+        entries.remove(key);
+        loads.forget(key);
+    }
+
+    /**
+     * Invalidates the key unless a live value is cached for it that the predicate accepts. Keys
+     * without a value may have a load in flight that the caller's change has to reach.
+     */
+    public synchronized void invalidateUnless(K key, Predicate<? super V> stillValid) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.expiresAt - ticker.getAsLong() <= 0 || !stillValid.test(entry.value)) {
+            invalidate(key);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        loading.values().forEach(generation -> generation.value++);
+        entries.clear();
+        loads.forgetAll();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, loads.getCoalesced(), evictions, entries.size());
+    }
+
+    private static final class Generation {
+        private long value;
+        private int loads;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
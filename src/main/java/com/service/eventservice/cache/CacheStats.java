@@ -0,0 +1,42 @@
+package com.service.eventservice.cache;
+
+public class CacheStats {
+    private long hits;
+    private long misses;
+    private long coalescedMisses;
+    private long evictions;
+    private int size;
+
+    public CacheStats(long hits, long misses, long coalescedMisses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalescedMisses = coalescedMisses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getCoalescedMisses() {
+        return coalescedMisses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
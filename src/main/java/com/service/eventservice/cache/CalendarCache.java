@@ -0,0 +1,103 @@
+package com.service.eventservice.cache;
+
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.search.EventWriteListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month buckets of the calendar view. The per-day event counts of a month only change when an event
+ * of that month is created, moved or deleted, so renames and participation changes leave them cached.
+ * The most attended events per day also follow renames and participation changes, but only of events
+ * that are among them or that now outrank the last of a full day. Changes arrive from the
+ * {@link com.service.eventservice.search.EventIndexer} after commit, and only the months they touch
+ * are dropped.
+ */
+@Component
+public class CalendarCache implements EventWriteListener {
+
+    public static final int MAX_TOP_EVENTS = 5;
+
+    private final BoundedCache<YearMonth, List<CalendarDay>> dayCounts;
+    private final BoundedCache<YearMonth, Map<LocalDate, List<EventSummary>>> topEvents;
+
+    @Autowired
+    public CalendarCache(@Value("${events.calendar.cache.max-months:120}") int maxMonths,
+                         @Value("${events.calendar.cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.dayCounts = new BoundedCache<>(maxMonths, ttlSeconds, TimeUnit.SECONDS);
+        this.topEvents = new BoundedCache<>(maxMonths, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public BoundedCache<YearMonth, List<CalendarDay>> dayCounts() {
+        return dayCounts;
+    }
+
+    public BoundedCache<YearMonth, Map<LocalDate, List<EventSummary>>> topEvents() {
+        return topEvents;
+    }
+
+    @Override
+    public void eventSaved(EventSummary previous, EventSummary current) {
+        if (previous == null || !Objects.equals(previous.getDate(), current.getDate())) {
+            if (previous != null) {
+                evict(previous.getDate());
+            }
+            evict(current.getDate());
+        } else if (!Objects.equals(previous.getName(), current.getName())
+                || previous.getParticipantCount() != current.getParticipantCount()) {
+            if (current.getDate() != null) {
+                topEvents.invalidateUnless(YearMonth.from(current.getDate()), days -> keepsTop(days, current));
+            }
+        }
+    }
+
+    @Override
+    public void eventDeleted(EventSummary previous) {
+        evict(previous.getDate());
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("calendarDayCounts", dayCounts.stats());
+        stats.put("calendarTopEvents", topEvents.stats());
+        return stats;
+    }
+
+    private void evict(LocalDate date) {
+        if (date != null) {
+            YearMonth month = YearMonth.from(date);
+            dayCounts.invalidate(month);
+            topEvents.invalidate(month);
+        }
+    }
+
+    /**
+     * Whether the cached top events of the changed event's day stay the same: the event is not among
+     * them, and the day is full and the event still ranks behind the last of them.
+     */
+    private static boolean keepsTop(Map<LocalDate, List<EventSummary>> days, EventSummary changed) {
+        List<EventSummary> top = days.getOrDefault(changed.getDate(), Collections.emptyList());
+        if (top.size() < MAX_TOP_EVENTS) {
+            return false;
+        }
+        for (EventSummary event : top) {
+            if (event.getId().equals(changed.getId())) {
+                return false;
+            }
+        }
+        EventSummary last = top.get(top.size() - 1);
+        return changed.getParticipantCount() < last.getParticipantCount()
+                || changed.getParticipantCount() == last.getParticipantCount() && changed.getId() > last.getId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.service.eventservice.cache;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.jsr107.config.ConfigurationElementState;
+import org.ehcache.jsr107.config.Jsr107CacheConfiguration;
+import org.hibernate.cache.jcache.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JCache region factory that backs every second-level cache region with a heap bounded Ehcache.
+ * Each region reads its size and time to live from {@code hibernate.cache.regions.<region>.max-entries}
+ * and {@code hibernate.cache.regions.<region>.ttl-seconds}, and publishes JCache statistics over JMX.
+ * Every session factory gets a cache manager of its own, so two of them in one JVM never share entries
+ * that belong to different databases.
+ */
+public class EhcacheRegionFactory extends JCacheRegionFactory {
+
+    static final String REGION_PREFIX = "hibernate.cache.regions.";
+    static final long DEFAULT_MAX_ENTRIES = 10_000;
+    static final long DEFAULT_TTL_SECONDS = 600;
+
+    private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+    @Override
+    protected CacheManager getCacheManager(Properties properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        URI uri = URI.create("urn:event-service:second-level-cache:" + MANAGERS.incrementAndGet());
+        return provider.getCacheManager(uri, new DefaultConfiguration(provider.getDefaultClassLoader()));
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName, Properties properties, CacheDataDescription metadata) {
+        long maxEntries = regionSetting(properties, regionName, "max-entries", DEFAULT_MAX_ENTRIES);
+        long ttlSeconds = regionSetting(properties, regionName, "ttl-seconds", DEFAULT_TTL_SECONDS);
+        CacheConfiguration<Object, Object> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .add(new Jsr107CacheConfiguration(ConfigurationElementState.ENABLED, ConfigurationElementState.DISABLED))
+                .build();
+        return getCacheManager().createCache(regionName, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+    }
+
+    static long regionSetting(Properties properties, String regionName, String setting, long defaultValue) {
+        String value = properties.getProperty(REGION_PREFIX + regionName + "." + setting);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        long parsed = Long.parseLong(value.trim());
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(REGION_PREFIX + regionName + "." + setting + " must be positive");
+        }
+        return parsed;
+    }
+}
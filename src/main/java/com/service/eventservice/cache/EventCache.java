@@ -0,0 +1,84 @@
+package com.service.eventservice.cache;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class EventCache {
+
+    private final BoundedCache<Long, Event> eventsById;
+    private final BoundedCache<String, List<EventSummary>> eventsByName;
+    private final BoundedCache<LocalDate, List<EventSummary>> eventsByDate;
+    private final BoundedCache<String, List<EventSummary>> eventsByAddress;
+
+    @Autowired
+    public EventCache(@Value("${events.cache.max-size:10000}") int maxSize,
+                      @Value("${events.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.eventsById = new BoundedCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.eventsByName = new BoundedCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.eventsByDate = new BoundedCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.eventsByAddress = new BoundedCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public static String textKey(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    public BoundedCache<Long, Event> eventsById() {
+        return eventsById;
+    }
+
+    public BoundedCache<String, List<EventSummary>> eventsByName() {
+        return eventsByName;
+    }
+
+    public BoundedCache<LocalDate, List<EventSummary>> eventsByDate() {
+        return eventsByDate;
+    }
+
+    public BoundedCache<String, List<EventSummary>> eventsByAddress() {
+        return eventsByAddress;
+    }
+
+    public void evict(Event event) {
+        evict(event.getId(), event.getName(), event.getDate(), event.getAddress());
+    }
+
+    public void evict(EventSummary summary) {
+        evict(summary.getId(), summary.getName(), summary.getDate(), summary.getAddress());
+    }
+
+    public void evict(Long id, String name, LocalDate date, String address) {
+        if (id != null) {
+            eventsById.invalidate(id);
+        }
+        if (name != null) {
+            eventsByName.invalidate(textKey(name));
+        }
+        if (date != null) {
+            eventsByDate.invalidate(date);
+        }
+        if (address != null) {
+            eventsByAddress.invalidate(textKey(address));
+        }
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("eventsById", eventsById.stats());
+        stats.put("eventsByName", eventsByName.stats());
+        stats.put("eventsByDate", eventsByDate.stats());
+        stats.put("eventsByAddress", eventsByAddress.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,30 @@
+package com.service.eventservice.cache;
+
+public class RegionStats {
+    private long hits;
+    private long misses;
+    private long puts;
+
+    public RegionStats(long hits, long misses, long puts) {
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,63 @@
+package com.service.eventservice.cache;
+
+import com.service.eventservice.model.Event;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SecondLevelCache {
+
+    public static final String ORGANIZERS = "organizers";
+    public static final String USERS = "users";
+    public static final String EVENT_PARTICIPANTS = "event-participants";
+
+    private static final String PARTICIPANTS_ROLE = Event.class.getName() + ".users";
+    private static final List<String> REGIONS = Arrays.asList(ORGANIZERS, USERS, EVENT_PARTICIPANTS);
+
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Participation rows are written with plain JDBC, which Hibernate never sees, so the cached
+     * participants of the event are dropped right away and once more when the transaction completes,
+     * in case a concurrent load cached the old rows in between.
+     */
+    public void evictParticipants(long eventId) {
+        sessionFactory.getCache().evictCollection(PARTICIPANTS_ROLE, eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    sessionFactory.getCache().evictCollection(PARTICIPANTS_ROLE, eventId);
+                }
+            });
+        }
+    }
+
+    public Map<String, RegionStats> stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, RegionStats> stats = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(region);
+            stats.put(region, regionStatistics == null ? new RegionStats(0, 0, 0)
+                    : new RegionStats(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+        }
+        return stats;
+    }
+}
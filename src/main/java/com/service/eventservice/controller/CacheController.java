@@ -0,0 +1,43 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.cache.CacheStats;
+import com.service.eventservice.cache.CalendarCache;
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.cache.RegionStats;
+import com.service.eventservice.cache.SecondLevelCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("cache")
+public class CacheController {
+
+    private EventCache eventCache;
+    private SecondLevelCache secondLevelCache;
+    private CalendarCache calendarCache;
+
+    @Autowired
+    public CacheController(EventCache eventCache, SecondLevelCache secondLevelCache, CalendarCache calendarCache) {
+        this.eventCache = eventCache;
+        this.secondLevelCache = secondLevelCache;
+        this.calendarCache = calendarCache;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, CacheStats> getCacheStats() {
+        return eventCache.stats();
+    }
+
+    @GetMapping("/second-level/stats")
+    public Map<String, RegionStats> getSecondLevelCacheStats() {
+        return secondLevelCache.stats();
+    }
+
+    @GetMapping("/calendar/stats")
+    public Map<String, CacheStats> getCalendarCacheStats() {
+        return calendarCache.stats();
+    }
+}
@@ -0,0 +1,36 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.service.CalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("events/calendar")
+public class CalendarController {
+
+    private CalendarService calendarService;
+
+    @Autowired
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    @GetMapping("/month")
+    public List<CalendarDay> getMonth(@RequestParam(value = "month") @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+                                      @RequestParam(value = "top", defaultValue = "0") int top) {
+        return calendarService.month(month, top);
+    }
+
+    @GetMapping("/week")
+    public List<CalendarDay> getWeek(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+                                     @RequestParam(value = "top", defaultValue = "0") int top) {
+        return calendarService.week(date, top);
+    }
+}
@@ -1,9 +1,14 @@
 package com.service.eventservice.controller;
 
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.CursorPage;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.service.CommentService;
+import com.service.eventservice.writebehind.WriteBehindStats;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,9 +25,15 @@ public class CommentController {
     }
 
     @PostMapping("comments/user/{userId}/event/{eventId}")
-    @ResponseStatus(HttpStatus.CREATED)
-    public Comment createCommentForGivenUserForGivenEvent(@RequestBody Comment comment, @PathVariable int userId, @PathVariable int eventId) {
-        return commentService.createUserCommentForGivenEvent(comment, userId, eventId);
+    public ResponseEntity<Comment> createCommentForGivenUserForGivenEvent(@RequestBody Comment comment, @PathVariable int userId, @PathVariable int eventId) {
+        Comment created = commentService.createUserCommentForGivenEvent(comment, userId, eventId);
+        HttpStatus status = commentService.isCreateAcknowledgedBeforeWrite() ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return new ResponseEntity<>(created, status);
+    }
+
+    @GetMapping("/comments/write-behind/stats")
+    public WriteBehindStats getWriteBehindStats() {
+        return commentService.getWriteBehindStats();
     }
 
     @GetMapping("/user/{userId}/event/{eventId}/comments")
@@ -31,13 +42,17 @@ public class CommentController {
     }
 
     @GetMapping("event/{eventId}/comments")
-    public List<Comment> getAllCommentsForEvent(@PathVariable int eventId) {
-        return commentService.getAllCommentsForEvent(eventId);
+    public CursorPage<CommentSummary> getAllCommentsForEvent(@PathVariable int eventId,
+                                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                                             @RequestParam(value = "size", defaultValue = "20") int size) {
+        return commentService.getCommentsForEvent(eventId, cursor, size);
     }
 
     @GetMapping("user/{userId}/comments")
-    public List<Comment> getAllCommentsForUser(@PathVariable int userId) {
-        return commentService.getAllCommentsForUser(userId);
+    public CursorPage<CommentSummary> getAllCommentsForUser(@PathVariable int userId,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return commentService.getCommentsForUser(userId, cursor, size);
     }
 
     @DeleteMapping("/comments/{id}")
@@ -45,6 +60,11 @@ public class CommentController {
         return commentService.deleteCommentById(id);
     }
 
+    @GetMapping(value = "/comments", params = "ids")
+    public LookupResult<Comment> findByIds(@RequestParam("ids") List<Long> ids) {
+        return commentService.findByIds(ids);
+    }
+
     @GetMapping("/comments/{id}")
     public Comment findById(@PathVariable int id) {
         return commentService.findById(id);
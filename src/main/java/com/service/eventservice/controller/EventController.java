@@ -1,12 +1,28 @@
 package com.service.eventservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,35 +31,73 @@ import java.util.List;
 @RequestMapping("events")
 public class EventController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private EventService eventService;
+    private ObjectMapper objectMapper;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<Event> getAllEvents() {
-        return eventService.findAllEvents();
+    public CursorPage<EventSummary> getAllEvents(@RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", defaultValue = "20") int size) {
+        return eventService.findEventsPage(cursor, size);
+    }
+
+    @GetMapping(params = "ids")
+    public LookupResult<Event> getEventsByIds(@RequestParam("ids") List<Long> ids) {
+        return eventService.findByIds(ids);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportEvents(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            eventService.exportEvents(event -> {
+                try {
+                    generator.writeObject(event);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON})
+    public ImportReport importEvents(HttpServletRequest request) throws IOException {
+        return eventService.importEvents(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+    }
+
+    @GetMapping("/search")
+    public Page<EventSummary> searchEvents(EventSearchCriteria criteria, Pageable pageable) {
+        return eventService.searchEvents(criteria, pageable);
     }
 
     @GetMapping("/{id}")
-    public Event getEventById(@PathVariable("id") int id) {
-        return eventService.findById(id);
+    public ResponseEntity<Event> getEventById(@PathVariable("id") int id) {
+        Event event = eventService.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(event.getVersion())).body(event);
     }
 
     @GetMapping("/address")
-    public List<Event> getEventByAddress(@RequestParam(value = "address") String address) {
+    public List<EventSummary> getEventByAddress(@RequestParam(value = "address") String address) {
         return eventService.findByAddress(address);
     }
 
     @GetMapping("/name")
-    public List<Event> getEventByName(@RequestParam(value = "name") String name) {
+    public List<EventSummary> getEventByName(@RequestParam(value = "name") String name) {
         return eventService.findByName(name);
     }
 
     @GetMapping("/date")
-    public List<Event> getEventByDate(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+    public List<EventSummary> getEventByDate(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
         return eventService.findByDate(date);
     }
 
@@ -54,16 +108,18 @@ public class EventController {
     }
 
     @GetMapping("/startDate/endDate")
-    public List<Event> getEventsBetweenStartAndEndDate(@RequestParam(value = "startDate")
-                                                       @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-                                                       @RequestParam(value = "endDate")
-                                                       @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+    public List<EventSummary> getEventsBetweenStartAndEndDate(@RequestParam(value = "startDate")
+                                                              @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                              @RequestParam(value = "endDate")
+                                                              @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
         return eventService.findByDateRange(startDate, endDate);
     }
 
     @PutMapping("/{id}")
-    public Event updateEvent(@RequestBody Event event, @PathVariable int id) {
-        return eventService.updateEvent(event, id);
+    public ResponseEntity<Event> updateEvent(@RequestBody Event event, @PathVariable int id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Event updated = eventService.updateEvent(event, id, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -72,9 +128,9 @@ public class EventController {
     }
 
     @GetMapping("/name/address/date")
-    public List<Event> getEventByNameAndAddressAndDate(@RequestParam(value = "name") String name,
-                                                       @RequestParam(value = "address") String address,
-                                                       @RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+    public List<EventSummary> getEventByNameAndAddressAndDate(@RequestParam(value = "name") String name,
+                                                              @RequestParam(value = "address") String address,
+                                                              @RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
         return eventService.findByNameAndAddressAndDate(name, address, date);
     }
 }
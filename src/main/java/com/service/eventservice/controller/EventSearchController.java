@@ -0,0 +1,40 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.ScoredEvent;
+import com.service.eventservice.service.EventSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("events")
+public class EventSearchController {
+
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    public EventSearchController(EventSearchService eventSearchService) {
+        this.eventSearchService = eventSearchService;
+    }
+
+    @GetMapping("/search/text")
+    public Page<ScoredEvent> searchText(@RequestParam("q") String query, Pageable pageable) {
+        return eventSearchService.searchText(query, pageable);
+    }
+
+    @GetMapping("/search/fuzzy")
+    public Page<ScoredEvent> searchFuzzy(@RequestParam("q") String query, Pageable pageable) {
+        return eventSearchService.searchFuzzy(query, pageable);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<Completion> autocomplete(@RequestParam("prefix") String prefix,
+                                         @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return eventSearchService.autocomplete(prefix, limit);
+    }
+}
@@ -1,14 +1,16 @@
 package com.service.eventservice.controller;
 
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
-import com.service.eventservice.model.User;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ParticipationOutcome;
+import com.service.eventservice.model.UserSummary;
 import com.service.eventservice.service.ParticipationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:4200")
@@ -22,8 +24,10 @@ public class ParticipationController {
     }
 
     @GetMapping("events/{eventId}/users")
-    public Set<User> getAllUsersForEvent(@PathVariable int eventId) {
-        return participationService.findByEventId(eventId);
+    public CursorPage<UserSummary> getAllUsersForEvent(@PathVariable int eventId,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", defaultValue = "20") int size) {
+        return participationService.findParticipants(eventId, cursor, size);
     }
 
     @GetMapping("users/{userId}/events")
@@ -33,12 +37,22 @@ public class ParticipationController {
 
     @PostMapping("events/{eventId}/users/{userId}")
     @ResponseStatus(HttpStatus.CREATED)
-    public Event insaretUserToEvent(@PathVariable int eventId, @PathVariable int userId) {
+    public EventSummary insaretUserToEvent(@PathVariable int eventId, @PathVariable int userId) {
         return participationService.addUserToEvent(eventId, userId);
     }
 
+    @PostMapping("events/{eventId}/users")
+    public List<ParticipationOutcome> insertUsersToEvent(@PathVariable int eventId, @RequestBody List<Long> userIds) {
+        return participationService.addUsersToEvent(eventId, userIds);
+    }
+
+    @DeleteMapping("events/{eventId}/users")
+    public List<ParticipationOutcome> deleteUsersFromEvent(@PathVariable int eventId, @RequestBody List<Long> userIds) {
+        return participationService.deleteUsersFromEvent(eventId, userIds);
+    }
+
     @DeleteMapping("events/{eventId}/users/{userId}")
-    public Event deleteUserFromEvent(@PathVariable int eventId, @PathVariable int userId) {
+    public EventSummary deleteUserFromEvent(@PathVariable int eventId, @PathVariable int userId) {
         return participationService.deleteUserByUserIdFromEvent(eventId, userId);
     }
 
@@ -1,12 +1,19 @@
 package com.service.eventservice.controller;
 
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.User;
 import com.service.eventservice.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -26,9 +33,15 @@ public class UserController {
         return userService.findAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public LookupResult<User> getUsersByIds(@RequestParam("ids") List<Long> ids) {
+        return userService.findByIds(ids);
+    }
+
     @GetMapping(path = "/{id}")
-    public User getUserById(@PathVariable("id") int id) {
-        return userService.findById(id);
+    public ResponseEntity<User> getUserById(@PathVariable("id") int id) {
+        User user = userService.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(user.getVersion())).body(user);
     }
 
     @GetMapping("/username")
@@ -42,13 +55,20 @@ public class UserController {
         return userService.createUser(user);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportReport importUsers(HttpServletRequest request) throws IOException {
+        return userService.importUsers(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+    }
+
     @DeleteMapping(path = "/{id}")
     public User deleteUserById(@PathVariable int id) {
         return userService.deleteUser(id);
     }
 
     @PutMapping("/{id}")
-    public User updateUserById(@RequestBody User user, @PathVariable int id) {
-        return userService.updateUser(user, id);
+    public ResponseEntity<User> updateUserById(@RequestBody User user, @PathVariable int id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User updated = userService.updateUser(user, id, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
     }
 }
@@ -0,0 +1,8 @@
+package com.service.eventservice.exception;
+
+public class CommentQueueFullException extends RuntimeException {
+
+    public CommentQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.service.eventservice.exception;
+
+public class CommentRejectedException extends RuntimeException {
+
+    public CommentRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
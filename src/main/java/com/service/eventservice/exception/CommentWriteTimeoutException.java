@@ -0,0 +1,8 @@
+package com.service.eventservice.exception;
+
+public class CommentWriteTimeoutException extends RuntimeException {
+
+    public CommentWriteTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.service.eventservice.exception;
+
+public class EventFullException extends RuntimeException {
+
+    public EventFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.service.eventservice.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class CalendarDay {
+    private LocalDate date;
+    private long eventCount;
+    private List<String> topNames;
+
+    public CalendarDay(LocalDate date, long eventCount) {
+        this(date, eventCount, Collections.emptyList());
+    }
+
+    public CalendarDay(LocalDate date, long eventCount, List<String> topNames) {
+        this.date = date;
+        this.eventCount = eventCount;
+        this.topNames = topNames;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public List<String> getTopNames() {
+        return topNames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CalendarDay that = (CalendarDay) o;
+        return eventCount == that.eventCount &&
+                Objects.equals(date, that.date) &&
+                Objects.equals(topNames, that.topNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, eventCount, topNames);
+    }
+}
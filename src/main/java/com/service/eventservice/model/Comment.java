@@ -7,20 +7,24 @@ import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_event_id_id", columnList = "event_id, id"),
+        @Index(name = "idx_comment_user_id_id", columnList = "user_id, id")})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
     private String contents;
 
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
 
@@ -67,13 +71,11 @@ public class Comment {
         if (o == null || getClass() != o.getClass()) return false;
         Comment comment = (Comment) o;
         return Objects.equals(id, comment.id) &&
-                Objects.equals(contents, comment.contents) &&
-                Objects.equals(user, comment.user) &&
-                Objects.equals(event, comment.event);
+                Objects.equals(contents, comment.contents);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, contents, user, event);
+        return Objects.hash(id, contents);
     }
 }
@@ -0,0 +1,56 @@
+package com.service.eventservice.model;
+
+import java.util.Objects;
+
+public class CommentSummary {
+    private Long id;
+    private String contents;
+    private Long userId;
+    private String username;
+    private Long eventId;
+
+    public CommentSummary(Long id, String contents, Long userId, String username, Long eventId) {
+        this.id = id;
+        this.contents = contents;
+        this.userId = userId;
+        this.username = username;
+        this.eventId = eventId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContents() {
+        return contents;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CommentSummary that = (CommentSummary) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(contents, that.contents) &&
+                Objects.equals(userId, that.userId) &&
+                Objects.equals(username, that.username) &&
+                Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, contents, userId, username, eventId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.service.eventservice.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class Completion {
+
+    public enum Field {
+        NAME, ADDRESS
+    }
+
+    private String text;
+    private Field field;
+    private Long eventId;
+    private long participantCount;
+    private LocalDate date;
+
+    public Completion(String text, Field field, Long eventId, long participantCount, LocalDate date) {
+        this.text = text;
+        this.field = field;
+        this.eventId = eventId;
+        this.participantCount = participantCount;
+        this.date = date;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Completion that = (Completion) o;
+        return participantCount == that.participantCount &&
+                Objects.equals(text, that.text) &&
+                field == that.field &&
+                Objects.equals(eventId, that.eventId) &&
+                Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, field, eventId, participantCount, date);
+    }
+}
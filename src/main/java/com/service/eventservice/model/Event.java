@@ -2,6 +2,8 @@ package com.service.eventservice.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -14,7 +16,8 @@ import java.util.Set;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
     @NotNull
     private String name;
@@ -22,19 +25,42 @@ public class Event {
     private LocalDate date;
     @NotNull
     private String address;
+    private Integer capacity;
+    /**
+     * Whether the capacity was set, as opposed to left out of a request body; a null capacity that was
+     * set means unlimited, one that was left out means unchanged.
+     */
+    @JsonIgnore
+    @Transient
+    private boolean capacitySet;
+    @JsonIgnore
+    @Column(name = "seats_taken", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int seatsTaken;
+    @JsonIgnore
+    @Column(name = "name_upper", insertable = false, updatable = false)
+    private String nameUpper;
+    @JsonIgnore
+    @Column(name = "address_upper", insertable = false, updatable = false)
+    private String addressUpper;
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
 
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "organizer_id")
     private Organizer organizer;
 
     @ManyToMany(cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-participants")
     @JoinTable(name = "Participation",
             joinColumns = @JoinColumn(name = "event_id"),
             inverseJoinColumns = @JoinColumn(name = "user_id"))
     private Set<User> users = new HashSet<>();
 
     @JsonIgnore
-    @OneToMany
+    @OneToMany(mappedBy = "event")
     private Set<Comment> comments = new HashSet<>();
 
     public Event(String name, LocalDate date, String address, Organizer organizer) {
@@ -59,10 +85,22 @@ public class Event {
         return address;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+
     public Set<Comment> getComments() {
         return comments;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -75,6 +113,15 @@ public class Event {
         this.address = address;
     }
 
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+        this.capacitySet = true;
+    }
+
+    public boolean isCapacitySet() {
+        return capacitySet;
+    }
+
     public void setOrganizer(Organizer organizer) {
         this.organizer = organizer;
     }
@@ -83,6 +130,10 @@ public class Event {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Organizer getOrganizer() {
         return organizer;
     }
@@ -103,12 +154,11 @@ public class Event {
         return Objects.equals(id, event.id) &&
                 Objects.equals(name, event.name) &&
                 Objects.equals(date, event.date) &&
-                Objects.equals(address, event.address) &&
-                Objects.equals(comments, event.comments);
+                Objects.equals(address, event.address);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, date, address, comments);
+        return Objects.hash(id, name, date, address);
     }
 }
@@ -0,0 +1,64 @@
+package com.service.eventservice.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class EventSummary {
+    private Long id;
+    private String name;
+    private LocalDate date;
+    private String address;
+    private String organizerName;
+    private long participantCount;
+
+    public EventSummary(Long id, String name, LocalDate date, String address, String organizerName, long participantCount) {
+        this.id = id;
+        this.name = name;
+        this.date = date;
+        this.address = address;
+        this.organizerName = organizerName;
+        this.participantCount = participantCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getOrganizerName() {
+        return organizerName;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventSummary that = (EventSummary) o;
+        return participantCount == that.participantCount &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(date, that.date) &&
+                Objects.equals(address, that.address) &&
+                Objects.equals(organizerName, that.organizerName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, date, address, organizerName, participantCount);
+    }
+}
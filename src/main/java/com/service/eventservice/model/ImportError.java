@@ -0,0 +1,36 @@
+package com.service.eventservice.model;
+
+import java.util.Objects;
+
+public class ImportError {
+
+    private long line;
+    private String message;
+
+    public ImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportError that = (ImportError) o;
+        return line == that.line &&
+                Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(line, message);
+    }
+}
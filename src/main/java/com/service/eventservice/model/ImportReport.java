@@ -0,0 +1,58 @@
+package com.service.eventservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private List<ImportError> errors = new ArrayList<>();
+
+    public void rowReceived() {
+        received++;
+    }
+
+    public void rowsImported(int count) {
+        imported += count;
+    }
+
+    public void rowFailed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportError(line, message));
+        }
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000 / elapsedMillis;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+}
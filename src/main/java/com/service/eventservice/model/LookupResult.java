@@ -0,0 +1,21 @@
+package com.service.eventservice.model;
+
+import java.util.List;
+
+public class LookupResult<T> {
+    private List<T> items;
+    private List<Long> missingIds;
+
+    public LookupResult(List<T> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
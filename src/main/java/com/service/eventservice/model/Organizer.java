@@ -2,16 +2,21 @@ package com.service.eventservice.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organizers")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Organizer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizer_seq")
+    @SequenceGenerator(name = "organizer_seq", sequenceName = "organizer_seq", allocationSize = 50)
     private Long id;
     private String name;
     @Email
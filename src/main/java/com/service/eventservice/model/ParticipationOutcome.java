@@ -0,0 +1,40 @@
+package com.service.eventservice.model;
+
+import java.util.Objects;
+
+public class ParticipationOutcome {
+
+    public enum Status {
+        ADDED, ALREADY_PARTICIPATING, REMOVED, NOT_PARTICIPATING, USER_NOT_FOUND
+    }
+
+    private long userId;
+    private Status status;
+
+    public ParticipationOutcome(long userId, Status status) {
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ParticipationOutcome that = (ParticipationOutcome) o;
+        return userId == that.userId &&
+                status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, status);
+    }
+}
@@ -0,0 +1,25 @@
+package com.service.eventservice.model;
+
+public class PendingComment {
+    private String contents;
+    private long userId;
+    private long eventId;
+
+    public PendingComment(String contents, long userId, long eventId) {
+        this.contents = contents;
+        this.userId = userId;
+        this.eventId = eventId;
+    }
+
+    public String getContents() {
+        return contents;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.service.eventservice.model;
+
+import java.util.Objects;
+
+public class ScoredEvent {
+    private EventSummary event;
+    private double score;
+
+    public ScoredEvent(EventSummary event, double score) {
+        this.event = event;
+        this.score = score;
+    }
+
+    public EventSummary getEvent() {
+        return event;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScoredEvent that = (ScoredEvent) o;
+        return Double.compare(that.score, score) == 0 &&
+                Objects.equals(event, that.event);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(event, score);
+    }
+}
@@ -3,6 +3,8 @@ package com.service.eventservice.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -11,11 +13,14 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "user", indexes = @Index(name = "idx_user_username", columnList = "username"))
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
@@ -26,12 +31,17 @@ public class User {
     @Email
     private String email;
 
-    @ManyToMany
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    @ManyToMany(mappedBy = "users")
     @JsonIgnore
     private Set<Event> events = new HashSet<>();
 
     @JsonIgnore
-    @OneToMany
+    @OneToMany(mappedBy = "user")
     private Set<Comment> comments = new HashSet<>();
 
     public User() {
@@ -59,6 +69,10 @@ public class User {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public void setUsername(String username) {
         this.username = username;
     }
@@ -87,14 +101,12 @@ public class User {
         return Objects.equals(id, user.id) &&
                 Objects.equals(password, user.password) &&
                 Objects.equals(username, user.username) &&
-                Objects.equals(email, user.email) &&
-                Objects.equals(events, user.events) &&
-                Objects.equals(comments, user.comments);
+                Objects.equals(email, user.email);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, password, username, email, events, comments);
+        return Objects.hash(id, password, username, email);
     }
 }
 
@@ -0,0 +1,82 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts imported rows with plain JDBC batches. Ids are drawn from the same
+ * sequences the entities use, one block of {@link #ID_BLOCK_SIZE} per sequence value exactly like the
+ * pooled-lo optimizer does, so both writers can share a sequence without handing out an id twice.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String NEXT_BLOCKS = "select next value for %s from system_range(1, ?)";
+    private static final String INSERT_ORGANIZER = "insert into organizer (id, name, email) values (?, ?, ?)";
+    private static final String INSERT_USER = "insert into user (id, username, email, password) values (?, ?, ?, ?)";
+    private static final String INSERT_EVENT = "insert into event (id, name, date, address, capacity, organizer_id) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BulkInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertEvents(List<Event> events) {
+        long[] organizerIds = nextIds("organizer_seq", (int) events.stream().filter(event -> event.getOrganizer() != null).count());
+        long[] eventIds = nextIds("event_seq", events.size());
+        List<Object[]> organizerRows = new ArrayList<>(organizerIds.length);
+        List<Object[]> eventRows = new ArrayList<>(events.size());
+        for (int i = 0, o = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            Organizer organizer = event.getOrganizer();
+            Long organizerId = null;
+            if (organizer != null) {
+                organizerId = organizerIds[o++];
+                organizerRows.add(new Object[]{organizerId, organizer.getName(), organizer.getEmail()});
+            }
+            event.setId(eventIds[i]);
+            eventRows.add(new Object[]{eventIds[i], event.getName(), Date.valueOf(event.getDate()), event.getAddress(),
+                    event.getCapacity(), organizerId});
+        }
+        if (!organizerRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORGANIZER, organizerRows);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, eventRows);
+    }
+
+    public void insertUsers(List<User> users) {
+        long[] userIds = nextIds("user_seq", users.size());
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            userRows.add(new Object[]{userIds[i], user.getUsername(), user.getEmail(), user.getPassword()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+    }
+
+    private long[] nextIds(String sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        List<Long> blocks = jdbcTemplate.queryForList(String.format(NEXT_BLOCKS, sequence), Long.class,
+                (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+        for (int i = 0; i < count; i++) {
+            ids[i] = blocks.get(i / ID_BLOCK_SIZE) + i % ID_BLOCK_SIZE;
+        }
+        return ids;
+    }
+}
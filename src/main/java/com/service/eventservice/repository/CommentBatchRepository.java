@@ -0,0 +1,33 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.PendingComment;
+import com.service.eventservice.model.User;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class CommentBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void insertAll(List<PendingComment> comments) {
+        for (PendingComment comment : comments) {
+            entityManager.persist(new Comment(comment.getContents(),
+                    entityManager.getReference(User.class, comment.getUserId()),
+                    entityManager.getReference(Event.class, comment.getEventId())));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    public void insert(PendingComment comment) {
+        insertAll(Collections.singletonList(comment));
+    }
+}
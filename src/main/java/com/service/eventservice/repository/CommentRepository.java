@@ -1,7 +1,11 @@
 package com.service.eventservice.repository;
 
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,9 +14,18 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByEventId(long eventId);
+    String SELECT_SUMMARY = "select new com.service.eventservice.model.CommentSummary(" +
+            "c.id, c.contents, u.id, u.username, c.event.id) from Comment c join c.user u ";
 
     List<Comment> findByEventIdAndUserId(long eventId, long userId);
 
-    List<Comment> findByUserId(long userId);
+    @Query(SELECT_SUMMARY + "where c.event.id = :eventId and c.id < :beforeId order by c.id desc")
+    List<CommentSummary> findSummariesByEventIdBefore(@Param("eventId") long eventId,
+                                                      @Param("beforeId") long beforeId,
+                                                      Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where u.id = :userId and c.id < :beforeId order by c.id desc")
+    List<CommentSummary> findSummariesByUserIdBefore(@Param("userId") long userId,
+                                                     @Param("beforeId") long beforeId,
+                                                     Pageable pageable);
 }
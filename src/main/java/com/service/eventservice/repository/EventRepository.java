@@ -1,27 +1,111 @@
 package com.service.eventservice.repository;
 
+import com.service.eventservice.model.CalendarDay;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
 
-    List<Event> findByNameIgnoreCase(String name);
+    /**
+     * Counts participants with a subquery per selected event rather than joining and grouping them, so
+     * that a page is read in (date, id) index order and stops at its limit.
+     */
+    String SELECT_SUMMARY = "select new com.service.eventservice.model.EventSummary(" +
+            "e.id, e.name, e.date, e.address, o.name, cast(e.users.size as long)) " +
+            "from Event e left join e.organizer o ";
+    String ORDER_SUMMARY = " order by e.date, e.id";
 
-    List<Event> findByDate(LocalDate date);
+    @EntityGraph(attributePaths = {"organizer", "users"})
+    Optional<Event> findWithOrganizerAndUsersById(long id);
 
-    List<Event> findByAddressIgnoreCase(String address);
+    @EntityGraph(attributePaths = {"organizer", "users"})
+    List<Event> findDistinctWithOrganizerAndUsersByIdIn(Collection<Long> ids);
 
-    List<Event> findByDateBetween(LocalDate start, LocalDate end);
+    @Query("select e.id from Event e join e.users u where u.id = :userId")
+    List<Long> findIdsByUsersId(@Param("userId") long userId);
 
+    @EntityGraph(attributePaths = {"organizer", "users"})
     Event findByOrganizerId(Long id);
 
-    List<Event> findByUsersId(long userId);
+    @Query("select distinct e from Event e join e.users participant " +
+            "left join fetch e.organizer left join fetch e.users where participant.id = :userId")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Event> findByUsersId(@Param("userId") long userId);
+
+    @Query(SELECT_SUMMARY + "where e.id = :id" + ORDER_SUMMARY)
+    Optional<EventSummary> findSummaryById(@Param("id") long id);
+
+    @Query(SELECT_SUMMARY + "where e.nameUpper = upper(:name)" + ORDER_SUMMARY)
+    List<EventSummary> findSummariesByName(@Param("name") String name);
+
+    @Query(SELECT_SUMMARY + "where e.date = :date" + ORDER_SUMMARY)
+    List<EventSummary> findSummariesByDate(@Param("date") LocalDate date);
+
+    @Query(SELECT_SUMMARY + "where e.addressUpper = upper(:address)" + ORDER_SUMMARY)
+    List<EventSummary> findSummariesByAddress(@Param("address") String address);
+
+    @Query(SELECT_SUMMARY + "where e.date between :start and :end" + ORDER_SUMMARY)
+    List<EventSummary> findSummariesByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("select new com.service.eventservice.model.CalendarDay(e.date, count(e.id)) from Event e " +
+            "where e.date between :start and :end group by e.date order by e.date")
+    List<CalendarDay> countByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query(SELECT_SUMMARY + "where e.date = :date order by e.users.size desc, e.id")
+    List<EventSummary> findByDateMostAttendedFirst(@Param("date") LocalDate date, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where e.name = :name and e.address = :address and e.date = :date" + ORDER_SUMMARY)
+    List<EventSummary> findSummariesByNameAndAddressAndDate(@Param("name") String name,
+                                                           @Param("address") String address,
+                                                           @Param("date") LocalDate date);
+
+    @Query(SELECT_SUMMARY + ORDER_SUMMARY)
+    List<EventSummary> findSummaryPage(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where e.date >= :date and (e.date > :date or e.id > :id)" + ORDER_SUMMARY)
+    List<EventSummary> findSummaryPageAfter(@Param("date") LocalDate date, @Param("id") long id, Pageable pageable);
+
+    @Query("select e.id from Event e where e.id > :id order by e.id")
+    List<Long> findIdsAfter(@Param("id") long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"organizer", "users"})
+    List<Event> findDistinctWithOrganizerAndUsersByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select coalesce(e.capacity - e.seatsTaken, " + Integer.MAX_VALUE + ") from Event e where e.id = :id")
+    Optional<Integer> findSeatsLeftById(@Param("id") long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.seatsTaken = e.seatsTaken + :seats " +
+            "where e.id = :id and (e.capacity is null or e.seatsTaken + :seats <= e.capacity)")
+    int reserveSeats(@Param("id") long id, @Param("seats") int seats);
 
-    List<Event> findByNameAndAddressAndDate(String name, String address, LocalDate date);
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.seatsTaken = e.seatsTaken - :seats where e.id = :id and e.seatsTaken >= :seats")
+    int releaseSeats(@Param("id") long id, @Param("seats") int seats);
 
+    @Transactional
+    @Modifying
+    @Query(value = "update event set seats_taken = (select count(*) from participation where event_id = :id) " +
+            "where id = :id", nativeQuery = true)
+    int resyncSeatsTaken(@Param("id") long id);
 }
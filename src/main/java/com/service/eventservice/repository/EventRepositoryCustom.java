@@ -0,0 +1,11 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface EventRepositoryCustom {
+
+    Page<EventSummary> search(EventSearchCriteria criteria, Pageable pageable);
+}
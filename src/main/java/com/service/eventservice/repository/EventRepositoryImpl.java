@@ -0,0 +1,154 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects the ids of the page first and then their summaries. Participants are counted by a subquery
+     * per event, which JPA criteria only allow outside the select clause, so the page query orders by it
+     * and the summaries are read with {@link EventRepository#SELECT_SUMMARY}.
+     */
+    @Override
+    public Page<EventSummary> search(EventSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        Join<Event, Organizer> organizer = event.join("organizer", JoinType.LEFT);
+        Expression<Integer> participantCount = cb.size(event.<Collection<User>>get("users"));
+        query.select(event.get("id"))
+                .where(predicates(cb, event, criteria))
+                .orderBy(orders(cb, pageable.getSort(), event, organizer, participantCount));
+        TypedQuery<Long> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = typedQuery.getResultList();
+        List<EventSummary> content = summaries(ids);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(cb, criteria));
+    }
+
+    private List<EventSummary> summaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, EventSummary> byId = new HashMap<>();
+        entityManager.createQuery(EventRepository.SELECT_SUMMARY + "where e.id in :ids", EventSummary.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(summary -> byId.put(summary.getId(), summary));
+        List<EventSummary> summaries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            summaries.add(byId.get(id));
+        }
+        return summaries;
+    }
+
+    private long count(CriteriaBuilder cb, EventSearchCriteria criteria) {
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(cb.count(event)).where(predicates(cb, event, criteria));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Event> event, EventSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (hasText(criteria.getName())) {
+            predicates.add(cb.like(event.get("nameUpper"), containsPattern(criteria.getName()), LIKE_ESCAPE));
+        }
+        if (hasText(criteria.getAddress())) {
+            predicates.add(cb.like(event.get("addressUpper"), containsPattern(criteria.getAddress()), LIKE_ESCAPE));
+        }
+        if (criteria.getStartDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("date"), criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(event.get("date"), criteria.getEndDate()));
+        }
+        if (criteria.getOrganizerId() != null) {
+            predicates.add(cb.equal(event.get("organizer").get("id"), criteria.getOrganizerId()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private List<Order> orders(CriteriaBuilder cb, Sort sort, Root<Event> event, Join<Event, Organizer> organizer,
+                               Expression<Integer> participantCount) {
+        List<Order> orders = new ArrayList<>();
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            Expression<?> expression;
+            switch (order.getProperty()) {
+                case "id":
+                case "name":
+                case "date":
+                case "address":
+                    expression = event.get(order.getProperty());
+                    break;
+                case "organizerName":
+                    expression = organizer.get("name");
+                    break;
+                case "participantCount":
+                    expression = participantCount;
+                    break;
+                default:
+                    throw new InvalidRequestException("Events cannot be sorted by " + order.getProperty());
+            }
+            orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+            orderedById |= "id".equals(order.getProperty());
+        }
+        if (orders.isEmpty()) {
+            orders.add(cb.asc(event.get("date")));
+        }
+        if (!orderedById) {
+            orders.add(cb.asc(event.get("id")));
+        }
+        return orders;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.trim().toUpperCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
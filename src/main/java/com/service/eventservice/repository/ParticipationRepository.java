@@ -0,0 +1,61 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.UserSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class ParticipationRepository {
+
+    private static final String INSERT = "insert into Participation (event_id, user_id) select ?, ? " +
+            "where not exists (select 1 from Participation where event_id = ? and user_id = ?)";
+    private static final String DELETE = "delete from Participation where event_id = ? and user_id = ?";
+    private static final String PARTICIPANTS_AFTER = "select u.id, u.username, u.email from Participation p " +
+            "join user u on u.id = p.user_id where p.event_id = ? and p.user_id > ? order by p.user_id limit ?";
+    private static final String COUNT = "select count(*) from Participation where event_id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ParticipationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean add(long eventId, long userId) {
+        return jdbcTemplate.update(INSERT, eventId, userId, eventId, userId) > 0;
+    }
+
+    public boolean remove(long eventId, long userId) {
+        return jdbcTemplate.update(DELETE, eventId, userId) > 0;
+    }
+
+    public int[] addAll(long eventId, List<Long> userIds) {
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{eventId, userId, eventId, userId});
+        }
+        return jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    public int[] removeAll(long eventId, List<Long> userIds) {
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{eventId, userId});
+        }
+        return jdbcTemplate.batchUpdate(DELETE, rows);
+    }
+
+    public List<UserSummary> findParticipantsAfter(long eventId, long afterUserId, int limit) {
+        return jdbcTemplate.query(PARTICIPANTS_AFTER,
+                (rs, row) -> new UserSummary(rs.getLong("id"), rs.getString("username"), rs.getString("email")),
+                eventId, afterUserId, limit);
+    }
+
+    public long countParticipants(long eventId) {
+        return jdbcTemplate.queryForObject(COUNT, Long.class, eventId);
+    }
+}
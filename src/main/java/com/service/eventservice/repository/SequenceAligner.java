@@ -0,0 +1,54 @@
+package com.service.eventservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves each id sequence past the highest id already stored in its table, so that rows written while
+ * ids were generated by IDENTITY columns are never handed out again by the pooled-lo optimizer.
+ * Runs once the schema has been updated and before the application starts serving requests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceAligner {
+
+    static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("event_seq", "event");
+        SEQUENCES.put("user_seq", "user");
+        SEQUENCES.put("organizer_seq", "organizer");
+        SEQUENCES.put("comment_seq", "comment");
+    }
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    void align(String sequence, String table) {
+        List<Long> next = jdbcTemplate.queryForList("select current_value + increment from information_schema.sequences " +
+                "where sequence_name = ?", Long.class, sequence.toUpperCase());
+        if (next.isEmpty()) {
+            return;
+        }
+        long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        if (next.get(0) <= maxId) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+        }
+    }
+}
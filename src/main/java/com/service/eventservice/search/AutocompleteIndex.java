@@ -0,0 +1,305 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.EventSummary;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Completions for what has been typed so far, drawn from the distinct event names and addresses. Every
+ * word of a text starts a key, so "nig" completes "Jazz Night" too, and as the keys are kept sorted the
+ * ones starting with a prefix form a single range. A short range is ranked when asked for. For a prefix
+ * whose range is too long for that, the best texts are remembered for the day and kept up to date as
+ * events change: a text that gains rank moves up, one that loses rank moves down or leaves the list, and
+ * the range is only ranked again once too few texts are left or the day has changed.
+ * <p>
+ * Texts whose event is still to come rank before past ones. Among them a text ranks as its most
+ * attended event, a later date breaking ties.
+ */
+@Component
+public class AutocompleteIndex implements EventWriteListener {
+
+    static final int SCAN_LIMIT = 512;
+    static final int KEPT_TEXTS = 64;
+    static final int MIN_KEPT_TEXTS = 32;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Comparator<EventSummary> EVENT_RANK = Comparator
+            .comparingLong(EventSummary::getParticipantCount).reversed()
+            .thenComparing(EventSummary::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(EventSummary::getId);
+    private static final Comparator<Text> TEXT_RANK = Comparator
+            .comparing(Text::best, EVENT_RANK)
+            .thenComparing(text -> text.field)
+            .thenComparing(text -> text.normalized);
+
+    private final NavigableMap<String, Text> keys = new TreeMap<>();
+    private final Map<String, Text> texts = new HashMap<>();
+    private final Map<String, Kept> kept = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Clock clock;
+    private long nextSerial;
+
+    public AutocompleteIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    AutocompleteIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void eventSaved(EventSummary previous, EventSummary current) {
+        lock.writeLock().lock();
+        try {
+            change(Completion.Field.NAME, previous, previous == null ? null : previous.getName(),
+                    current, current.getName());
+            change(Completion.Field.ADDRESS, previous, previous == null ? null : previous.getAddress(),
+                    current, current.getAddress());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventDeleted(EventSummary previous) {
+        lock.writeLock().lock();
+        try {
+            change(Completion.Field.NAME, previous, previous.getName(), null, null);
+            change(Completion.Field.ADDRESS, previous, previous.getAddress(), null, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} names and addresses with a word starting with the given prefix, best
+     * first.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = String.join(" ", Tokenizer.words(prefix));
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDate today = LocalDate.now(clock);
+        lock.readLock().lock();
+        try {
+            Kept best = kept.get(key);
+            List<Text> ranked = best != null && best.day.equals(today) ? best.texts : rank(key, today);
+            List<Completion> completions = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Text text : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                completions.add(text.completion());
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects the best texts of the range without sorting all of it, and remembers them if the range is
+     * too long to rank on every request.
+     */
+    private List<Text> rank(String prefix, LocalDate today) {
+        Comparator<Text> rank = rank(today);
+        TreeSet<Text> best = new TreeSet<>(rank);
+        int scanned = 0;
+        for (Text text : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            scanned++;
+            if (best.size() < KEPT_TEXTS) {
+                best.add(text);
+            } else if (rank.compare(text, best.last()) < 0 && best.add(text)) {
+                best.pollLast();
+            }
+        }
+        List<Text> ranked = new ArrayList<>(best);
+        if (scanned > SCAN_LIMIT) {
+            kept.put(prefix, new Kept(today, ranked));
+        }
+        return ranked;
+    }
+
+    /**
+     * Upcoming texts first, then by {@link #TEXT_RANK}.
+     */
+    private static Comparator<Text> rank(LocalDate today) {
+        return Comparator.comparing((Text text) -> !text.upcoming(today)).thenComparing(TEXT_RANK);
+    }
+
+    private void change(Completion.Field field, EventSummary previous, String previousValue,
+                        EventSummary current, String currentValue) {
+        Text previousText = previous == null ? null : texts.get(field + String.join(" ", Tokenizer.words(previousValue)));
+        Text currentText = current == null ? null : text(field, currentValue);
+        if (previousText != null && previousText == currentText) {
+            EventSummary before = previousText.best();
+            previousText.events.remove(previous);
+            previousText.events.add(current);
+            rerank(previousText, before);
+            return;
+        }
+        if (previousText != null) {
+            EventSummary before = previousText.best();
+            previousText.events.remove(previous);
+            rerank(previousText, before);
+        }
+        if (currentText != null) {
+            EventSummary before = currentText.best();
+            currentText.events.add(current);
+            rerank(currentText, before);
+        }
+    }
+
+    private Text text(Completion.Field field, String value) {
+        List<String> words = Tokenizer.words(value);
+        if (words.isEmpty()) {
+            return null;
+        }
+        String normalized = String.join(" ", words);
+        return texts.computeIfAbsent(field + normalized, key -> new Text(field, normalized, words, nextSerial++));
+    }
+
+    private void rerank(Text text, EventSummary before) {
+        EventSummary after = text.best();
+        if (after == before || after != null && before != null && EVENT_RANK.compare(after, before) == 0) {
+            return;
+        }
+        if (before == null) {
+            for (String key : text.keys) {
+                keys.put(key, text);
+            }
+        }
+        reposition(text, after == null);
+        if (after == null) {
+            texts.remove(text.field + text.normalized);
+            for (String key : text.keys) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Moves a text whose rank changed to its place in the remembered best texts of every prefix it falls
+     * under. A text that now ranks below the last of them leaves the list, as the text that should take
+     * its place is not known; the list is forgotten, to be ranked again, once fewer than
+     * {@link #MIN_KEPT_TEXTS} are left.
+     */
+    private void reposition(Text text, boolean removed) {
+        if (kept.isEmpty()) {
+            return;
+        }
+        for (String prefix : text.prefixes()) {
+            Kept best = kept.get(prefix);
+            if (best == null) {
+                continue;
+            }
+            Comparator<Text> rank = rank(best.day);
+            boolean member = best.texts.contains(text);
+            if (!member && (removed || rank.compare(text, best.texts.get(best.texts.size() - 1)) > 0)) {
+                continue;
+            }
+            List<Text> updated = new ArrayList<>(best.texts);
+            updated.remove(text);
+            int index = removed ? updated.size() : -Collections.binarySearch(updated, text, rank) - 1;
+            if (index < updated.size()) {
+                updated.add(index, text);
+            }
+            if (updated.size() < MIN_KEPT_TEXTS) {
+                kept.remove(prefix);
+            } else {
+                kept.put(prefix, new Kept(best.day, updated.subList(0, Math.min(updated.size(), KEPT_TEXTS))));
+            }
+        }
+    }
+
+    /**
+     * The best texts under a prefix, ranked for the day they were selected on.
+     */
+    private static final class Kept {
+        private final LocalDate day;
+        private final List<Text> texts;
+
+        Kept(LocalDate day, List<Text> texts) {
+            this.day = day;
+            this.texts = new ArrayList<>(texts);
+        }
+    }
+
+    /**
+     * A distinct name or address, compared without case and accents, with the events carrying it.
+     */
+    private static final class Text {
+        private final Completion.Field field;
+        private final String normalized;
+        private final List<String> keys;
+        private final TreeSet<EventSummary> events = new TreeSet<>(EVENT_RANK);
+
+        /**
+         * Keys the text under each of its words and what follows, tagged with a serial to tell apart the
+         * texts that end in the same words.
+         */
+        Text(Completion.Field field, String normalized, List<String> words, long serial) {
+            this.field = field;
+            this.normalized = normalized;
+            this.keys = new ArrayList<>(words.size());
+            String tag = KEY_SEPARATOR + Long.toString(serial, Character.MAX_RADIX);
+            for (int i = 0; i < words.size(); i++) {
+                keys.add(String.join(" ", words.subList(i, words.size())) + tag);
+            }
+        }
+
+        EventSummary best() {
+            return events.isEmpty() ? null : events.first();
+        }
+
+        boolean upcoming(LocalDate today) {
+            EventSummary best = best();
+            return best != null && best.getDate() != null && !best.getDate().isBefore(today);
+        }
+
+        Set<String> prefixes() {
+            Set<String> prefixes = new HashSet<>();
+            for (String key : keys) {
+                int end = key.indexOf(KEY_SEPARATOR);
+                for (int length = 1; length <= end; length++) {
+                    prefixes.add(key.substring(0, length));
+                }
+            }
+            return prefixes;
+        }
+
+        Completion completion() {
+            EventSummary best = best();
+            String value = field == Completion.Field.NAME ? best.getName() : best.getAddress();
+            return new Completion(value, field, best.getId(), best.getParticipantCount(), best.getDate());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Text that = (Text) o;
+            return field == that.field && Objects.equals(normalized, that.normalized);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, normalized);
+        }
+    }
+}
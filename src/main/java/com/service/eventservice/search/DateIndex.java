@@ -0,0 +1,236 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Event dates kept as two columns: the epoch day of every event in an {@code int[]} and its id at the
+ * same position of a {@code long[]}, ordered by day and then id like the date queries of the
+ * repository. A date range is bounded with two binary searches and read straight off the arrays,
+ * without creating an object per event. The startup load arrives in that order and only appends;
+ * later writes shift the part of the arrays after the changed position, and events saved together are
+ * sorted and merged into the arrays in a single pass.
+ */
+@Component
+public class DateIndex implements EventWriteListener {
+
+    private int[] days = new int[1024];
+    private long[] ids = new long[1024];
+    private int size;
+    private volatile boolean ready;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void eventSaved(EventSummary previous, EventSummary current) {
+        if (previous != null && Objects.equals(previous.getDate(), current.getDate())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous);
+            }
+            add(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventsSaved(List<EventSummary> previous, List<EventSummary> current) {
+        lock.writeLock().lock();
+        try {
+            List<EventSummary> added = new ArrayList<>(current.size());
+            for (int i = 0; i < current.size(); i++) {
+                EventSummary before = previous.get(i);
+                EventSummary after = current.get(i);
+                if (before != null && Objects.equals(before.getDate(), after.getDate())) {
+                    continue;
+                }
+                if (before != null) {
+                    remove(before);
+                }
+                if (after.getDate() != null) {
+                    added.add(after);
+                }
+            }
+            merge(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventDeleted(EventSummary previous) {
+        lock.writeLock().lock();
+        try {
+            remove(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = true;
+    }
+
+    /**
+     * Whether every stored event has been loaded; until then the index must not be used to answer
+     * queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of events dated from {@code since} to {@code until}, both inclusive.
+     */
+    public int count(LocalDate since, LocalDate until) {
+        lock.readLock().lock();
+        try {
+            return Math.max(0, end(until) - start(since));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the ids of the events dated from {@code since} to {@code until}, both inclusive, to the
+     * consumer in date order and returns how many there were. The consumer runs under the read lock
+     * and must not write to the index.
+     */
+    public int forEach(LocalDate since, LocalDate until, LongConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            int from = start(since);
+            int to = end(until);
+            for (int i = from; i < to; i++) {
+                consumer.accept(ids[i]);
+            }
+            return Math.max(0, to - from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int start(LocalDate since) {
+        return lowerBound(day(since), Long.MIN_VALUE);
+    }
+
+    private int end(LocalDate until) {
+        return lowerBound(day(until) + 1, Long.MIN_VALUE);
+    }
+
+    private void add(EventSummary event) {
+        if (event.getDate() == null) {
+            return;
+        }
+        int day = day(event.getDate());
+        long id = event.getId();
+        int index = size > 0 && compare(days[size - 1], ids[size - 1], day, id) < 0 ? size : lowerBound(day, id);
+        if (index < size && days[index] == day && ids[index] == id) {
+            return;
+        }
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size + (size >> 1));
+            ids = Arrays.copyOf(ids, size + (size >> 1));
+        }
+        System.arraycopy(days, index, days, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        days[index] = day;
+        ids[index] = id;
+        size++;
+    }
+
+    /**
+     * Sorts the events and merges them into the arrays from the back, moving every entry at most once.
+     */
+    private void merge(List<EventSummary> events) {
+        int[] newDays = new int[events.size()];
+        long[] newIds = new long[events.size()];
+        int count = 0;
+        events.sort((left, right) -> compare(day(left.getDate()), left.getId(), day(right.getDate()), right.getId()));
+        for (EventSummary event : events) {
+            int day = day(event.getDate());
+            long id = event.getId();
+            int index = lowerBound(day, id);
+            boolean present = index < size && days[index] == day && ids[index] == id;
+            boolean repeated = count > 0 && newDays[count - 1] == day && newIds[count - 1] == id;
+            if (!present && !repeated) {
+                newDays[count] = day;
+                newIds[count++] = id;
+            }
+        }
+        if (size + count > days.length) {
+            int capacity = Math.max(size + count, size + (size >> 1));
+            days = Arrays.copyOf(days, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int from = size - 1;
+        int added = count - 1;
+        for (int to = size + count - 1; added >= 0; to--) {
+            if (from >= 0 && compare(days[from], ids[from], newDays[added], newIds[added]) > 0) {
+                days[to] = days[from];
+                ids[to] = ids[from--];
+            } else {
+                days[to] = newDays[added];
+                ids[to] = newIds[added--];
+            }
+        }
+        size += count;
+    }
+
+    private void remove(EventSummary event) {
+        if (event.getDate() == null) {
+            return;
+        }
+        int day = day(event.getDate());
+        long id = event.getId();
+        int index = lowerBound(day, id);
+        if (index == size || days[index] != day || ids[index] != id) {
+            return;
+        }
+        System.arraycopy(days, index + 1, days, index, size - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Position of the first entry not ordered before the given day and id.
+     */
+    private int lowerBound(int day, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(days[middle], ids[middle], day, id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(int leftDay, long leftId, int rightDay, long rightId) {
+        int byDay = Integer.compare(leftDay, rightDay);
+        return byDay != 0 ? byDay : Long.compare(leftId, rightId);
+    }
+
+    /**
+     * Epoch day of the date, clamped so that the day after it still fits in an int.
+     */
+    private static int day(LocalDate date) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE - 1, date.toEpochDay()));
+    }
+}
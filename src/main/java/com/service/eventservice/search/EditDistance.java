@@ -0,0 +1,61 @@
+package com.service.eventservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Edit distance between words that gives up as soon as it is known to exceed a bound. Only the cells
+ * within {@code max} of the diagonal can stay within the bound, so only those are computed, in rows
+ * kept by the instance and reused from one word to the next; an instance is meant for one lookup on
+ * one thread.
+ */
+final class EditDistance {
+
+    private int[] beforePrevious = new int[0];
+    private int[] previous = new int[0];
+    private int[] current = new int[0];
+
+    /**
+     * Number of single character insertions, deletions, substitutions and swaps of neighbouring
+     * characters turning {@code a} into {@code b}, or {@code max + 1} when more than {@code max} are
+     * needed. A swap counts as one edit, as "nigth" is as likely a typo as "nigt".
+     */
+    int within(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int columns = b.length() + 1;
+        if (previous.length < columns) {
+            beforePrevious = new int[columns];
+            previous = new int[columns];
+            current = new int[columns];
+        }
+        int outside = max + 1;
+        for (int j = 0; j < columns; j++) {
+            previous[j] = Math.min(j, outside);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            Arrays.fill(current, 0, columns, outside);
+            current[0] = Math.min(i, outside);
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                int cell = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    cell = Math.min(cell, beforePrevious[j - 2] + 1);
+                }
+                current[j] = Math.min(cell, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] free = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = free;
+        }
+        return previous[b.length()];
+    }
+}
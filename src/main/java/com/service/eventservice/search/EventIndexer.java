@@ -0,0 +1,204 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.repository.EventRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the latest summary of every event in memory and forwards each change to the
+ * {@link EventWriteListener}s. Everything stored is loaded once the application is ready, and the
+ * write paths report their changes here; inside a transaction a change is only forwarded after commit.
+ * Events written while the startup load runs keep their newer state, because the load never replaces
+ * an entry that is already present, and events deleted meanwhile are remembered so that the load does
+ * not bring them back.
+ */
+@Component
+public class EventIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIndexer.class);
+    static final int LOAD_BATCH_SIZE = 10_000;
+
+    private EventRepository eventRepository;
+    private List<EventWriteListener> listeners;
+    private final Map<Long, EventSummary> events = new ConcurrentHashMap<>();
+    private final Set<Long> deletedWhileLoading = new HashSet<>();
+    private final Map<Long, Long> appliedRefreshes = new HashMap<>();
+    private final AtomicLong refreshTickets = new AtomicLong();
+    private boolean loading;
+
+    @Autowired
+    public EventIndexer(EventRepository eventRepository, List<EventWriteListener> listeners) {
+        this.eventRepository = eventRepository;
+        this.listeners = listeners;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            loading = true;
+        }
+        Pageable batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+        List<EventSummary> page = eventRepository.findSummaryPage(batch);
+        int loaded = 0;
+        while (true) {
+            for (EventSummary summary : page) {
+                loaded += loadOne(summary) ? 1 : 0;
+            }
+            if (page.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            EventSummary last = page.get(page.size() - 1);
+            page = eventRepository.findSummaryPageAfter(last.getDate(), last.getId(), batch);
+        }
+        synchronized (this) {
+            loading = false;
+            deletedWhileLoading.clear();
+            listeners.forEach(EventWriteListener::loadCompleted);
+        }
+        log.info("Indexed {} events in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public EventSummary get(long id) {
+        return events.get(id);
+    }
+
+    public void saved(EventSummary summary) {
+        afterCommit(() -> apply(summary.getId(), previous -> summary));
+    }
+
+    /**
+     * Reports a saved entity. Its participants are only counted if they are already loaded; otherwise
+     * the count last reported for the event is kept.
+     */
+    public void saved(Event event) {
+        UnaryOperator<EventSummary> change = change(event);
+        afterCommit(() -> apply(event.getId(), change));
+    }
+
+    /**
+     * Reports entities saved together, such as a chunk of an import, to the listeners in one call.
+     */
+    public void savedAll(List<Event> saved) {
+        List<Long> ids = new ArrayList<>(saved.size());
+        List<UnaryOperator<EventSummary>> changes = new ArrayList<>(saved.size());
+        for (Event event : saved) {
+            ids.add(event.getId());
+            changes.add(change(event));
+        }
+        afterCommit(() -> applyAll(ids, changes));
+    }
+
+    private static UnaryOperator<EventSummary> change(Event event) {
+        String organizerName = event.getOrganizer() == null ? null : event.getOrganizer().getName();
+        boolean participantsLoaded = event.getUsers() != null && Hibernate.isInitialized(event.getUsers());
+        return previous -> {
+            long participants = participantsLoaded ? event.getUsers().size()
+                    : previous == null ? 0 : previous.getParticipantCount();
+            return new EventSummary(event.getId(), event.getName(), event.getDate(), event.getAddress(),
+                    organizerName, participants);
+        };
+    }
+
+    /**
+     * Reports an event whose participants changed. A summary read inside the transaction misses the
+     * rows of concurrent transactions, so the count is read again after commit. The read runs outside
+     * the lock; each takes a ticket before it starts, and a count is only applied if no read with a
+     * later ticket, which has seen every commit the earlier one saw, was applied already. A delete takes
+     * a ticket as well, so a read that started before it cannot bring the event back, and only the
+     * participant count of an indexed event is taken over, so a rename applied meanwhile is kept.
+     */
+    public void refresh(long id) {
+        afterCommit(() -> {
+            long ticket = refreshTickets.incrementAndGet();
+            eventRepository.findSummaryById(id).ifPresent(summary -> applyRefresh(ticket, summary));
+        });
+    }
+
+    public void deleted(long id) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loading) {
+                    deletedWhileLoading.add(id);
+                }
+                appliedRefreshes.put(id, refreshTickets.incrementAndGet());
+                EventSummary previous = events.remove(id);
+                if (previous != null) {
+                    listeners.forEach(listener -> listener.eventDeleted(previous));
+                }
+            }
+        });
+    }
+
+    private synchronized boolean loadOne(EventSummary summary) {
+        if (deletedWhileLoading.contains(summary.getId()) || events.putIfAbsent(summary.getId(), summary) != null) {
+            return false;
+        }
+        listeners.forEach(listener -> listener.eventSaved(null, summary));
+        return true;
+    }
+
+    private synchronized void applyRefresh(long ticket, EventSummary summary) {
+        long id = summary.getId();
+        if (appliedRefreshes.getOrDefault(id, 0L) > ticket) {
+            return;
+        }
+        appliedRefreshes.put(id, ticket);
+        apply(id, stored -> stored == null ? summary : new EventSummary(id, stored.getName(), stored.getDate(),
+                stored.getAddress(), stored.getOrganizerName(), summary.getParticipantCount()));
+    }
+
+    private synchronized void apply(long id, UnaryOperator<EventSummary> change) {
+        EventSummary previous = events.get(id);
+        EventSummary current = change.apply(previous);
+        events.put(id, current);
+        listeners.forEach(listener -> listener.eventSaved(previous, current));
+    }
+
+    private synchronized void applyAll(List<Long> ids, List<UnaryOperator<EventSummary>> changes) {
+        List<EventSummary> previous = new ArrayList<>(ids.size());
+        List<EventSummary> current = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            EventSummary before = events.get(ids.get(i));
+            EventSummary after = changes.get(i).apply(before);
+            events.put(ids.get(i), after);
+            previous.add(before);
+            current.add(after);
+        }
+        listeners.forEach(listener -> listener.eventsSaved(previous, current));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+
+import java.util.List;
+
+/**
+ * In-memory structure kept current by {@link EventIndexer}. Calls are serialized by the indexer and
+ * arrive after the writing transaction committed, so implementations only have to guard their own
+ * readers against the single writer.
+ */
+public interface EventWriteListener {
+
+    /**
+     * An event was created, changed or loaded at startup. {@code previous} is the state last passed to
+     * this listener, or null if the event is new to it.
+     */
+    void eventSaved(EventSummary previous, EventSummary current);
+
+    /**
+     * Several events were saved together, as by a bulk import; {@code previous} and {@code current}
+     * hold the same entries {@link #eventSaved} would have been passed, at the same positions.
+     */
+    default void eventsSaved(List<EventSummary> previous, List<EventSummary> current) {
+        for (int i = 0; i < current.size(); i++) {
+            eventSaved(previous.get(i), current.get(i));
+        }
+    }
+
+    void eventDeleted(EventSummary previous);
+
+    /**
+     * Every event stored when the application started has been passed to {@link #eventSaved}.
+     */
+    default void loadCompleted() {
+    }
+}
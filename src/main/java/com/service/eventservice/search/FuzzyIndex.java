@@ -0,0 +1,309 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo tolerant index over the words of event names. Every distinct word gets an int id and every
+ * trigram of a word, padded with a blank on both sides, maps to the sorted ids of the words containing
+ * it. A query word is looked up by counting, over the posting lists of its own trigrams, how many
+ * trigrams each word shares with it. An edit breaks at most four trigrams, so a word within {@code k}
+ * edits shares all but {@code 4k} of them and only the words reaching that count have their edit
+ * distance computed. A word short enough to lose all of its trigrams within the allowed edits is
+ * instead compared with every indexed word whose length is within that many edits of its own. A query
+ * matches the events whose name has a close enough word for every query word; a closer word scores
+ * more.
+ */
+@Component
+public class FuzzyIndex implements EventWriteListener {
+
+    static final int MAX_QUERY_WORDS = 8;
+    static final int MAX_EXPANSIONS = 64;
+    private static final char PAD = ' ';
+
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final List<LongPostings> eventsByWord = new ArrayList<>();
+    private final Map<Long, IntPostings> trigrams = new HashMap<>();
+    private final List<IntPostings> wordsByLength = new ArrayList<>();
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Edits allowed for a query word of the given length: none up to two characters, one up to five
+     * and two beyond.
+     */
+    static int maxEdits(int length) {
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    @Override
+    public void eventSaved(EventSummary previous, EventSummary current) {
+        if (previous != null && Objects.equals(previous.getName(), current.getName())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous);
+            }
+            for (String word : Tokenizer.tokens(current.getName())) {
+                eventsByWord.get(wordId(word)).add(current.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventDeleted(EventSummary previous) {
+        lock.writeLock().lock();
+        try {
+            remove(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the requested page of events with a name word close to every word of the query, closest
+     * first.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> queryWords = Tokenizer.tokens(query);
+        if (queryWords.isEmpty()) {
+            return Hits.empty();
+        }
+        queryWords = queryWords.subList(0, Math.min(queryWords.size(), MAX_QUERY_WORDS));
+        lock.readLock().lock();
+        try {
+            List<long[]> matches = new ArrayList<>(queryWords.size());
+            for (String word : queryWords) {
+                long[] keys = match(word);
+                if (keys.length == 0) {
+                    return Hits.empty();
+                }
+                matches.add(keys);
+            }
+            matches.sort((a, b) -> Integer.compare(a.length, b.length));
+            return intersect(matches, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hits intersect(List<long[]> matches, int offset, int limit) {
+        long[] rarest = matches.get(0);
+        long[] ids = new long[rarest.length];
+        double[] scores = new double[rarest.length];
+        int count = 0;
+        candidates:
+        for (long key : rarest) {
+            long id = key >>> 2;
+            double score = similarity(key);
+            for (int i = 1; i < matches.size(); i++) {
+                long[] other = matches.get(i);
+                int index = Arrays.binarySearch(other, id << 2);
+                int at = index >= 0 ? index : -index - 1;
+                if (at == other.length || other[at] >>> 2 != id) {
+                    continue candidates;
+                }
+                score += similarity(other[at]);
+            }
+            ids[count] = id;
+            scores[count++] = score;
+        }
+        return TopHits.select(ids, scores, count, offset, limit);
+    }
+
+    private static double similarity(long key) {
+        return 1.0 / (1 + (key & 3));
+    }
+
+    /**
+     * Ids of the events with a word close to the query word, sorted, shifted left by two bits with the
+     * edit distance of their closest word in the low bits.
+     */
+    private long[] match(String word) {
+        int maxEdits = maxEdits(word.length());
+        List<int[]> close = new ArrayList<>();
+        if (maxEdits == 0) {
+            Integer id = wordIds.get(word);
+            if (id != null) {
+                close.add(new int[]{id, 0});
+            }
+        } else {
+            close = closeWords(word, maxEdits);
+        }
+        int total = 0;
+        for (int[] match : close) {
+            total += eventsByWord.get(match[0]).size();
+        }
+        long[] keys = new long[total];
+        int count = 0;
+        for (int[] match : close) {
+            LongPostings events = eventsByWord.get(match[0]);
+            for (int i = 0; i < events.size(); i++) {
+                keys[count++] = events.get(i) << 2 | match[1];
+            }
+        }
+        if (close.size() < 2) {
+            return keys;
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct > 0 && keys[distinct - 1] >>> 2 == keys[i] >>> 2) {
+                continue;
+            }
+            keys[distinct++] = keys[i];
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /**
+     * Word ids and edit distances of the indexed words within {@code maxEdits} of the query word,
+     * closest first and at most {@link #MAX_EXPANSIONS} of them.
+     */
+    private List<int[]> closeWords(String word, int maxEdits) {
+        long[] grams = trigrams(word);
+        int minShared = grams.length - 4 * maxEdits;
+        List<int[]> close = minShared > 0 ? sharingTrigrams(word, grams, minShared, maxEdits)
+                : ofSimilarLength(word, maxEdits);
+        close.sort((a, b) -> Integer.compare(a[1], b[1]));
+        return close.size() > MAX_EXPANSIONS ? close.subList(0, MAX_EXPANSIONS) : close;
+    }
+
+    private List<int[]> sharingTrigrams(String word, long[] grams, int minShared, int maxEdits) {
+        IntPostings[] lists = new IntPostings[grams.length];
+        int listCount = 0;
+        for (long gram : grams) {
+            IntPostings postings = trigrams.get(gram);
+            if (postings != null) {
+                lists[listCount++] = postings;
+            }
+        }
+        int[] cursors = new int[listCount];
+        EditDistance distances = new EditDistance();
+        List<int[]> close = new ArrayList<>();
+        while (true) {
+            int candidate = Integer.MAX_VALUE;
+            for (int i = 0; i < listCount; i++) {
+                if (cursors[i] < lists[i].size() && lists[i].get(cursors[i]) < candidate) {
+                    candidate = lists[i].get(cursors[i]);
+                }
+            }
+            if (candidate == Integer.MAX_VALUE) {
+                break;
+            }
+            int shared = 0;
+            for (int i = 0; i < listCount; i++) {
+                if (cursors[i] < lists[i].size() && lists[i].get(cursors[i]) == candidate) {
+                    cursors[i]++;
+                    shared++;
+                }
+            }
+            if (shared >= minShared) {
+                int distance = distances.within(word, words.get(candidate), maxEdits);
+                if (distance <= maxEdits) {
+                    close.add(new int[]{candidate, distance});
+                }
+            }
+        }
+        return close;
+    }
+
+    private List<int[]> ofSimilarLength(String word, int maxEdits) {
+        EditDistance distances = new EditDistance();
+        List<int[]> close = new ArrayList<>();
+        int longest = Math.min(word.length() + maxEdits, wordsByLength.size() - 1);
+        for (int length = Math.max(1, word.length() - maxEdits); length <= longest; length++) {
+            IntPostings ids = wordsByLength.get(length);
+            for (int i = 0; i < ids.size(); i++) {
+                int distance = distances.within(word, words.get(ids.get(i)), maxEdits);
+                if (distance <= maxEdits) {
+                    close.add(new int[]{ids.get(i), distance});
+                }
+            }
+        }
+        return close;
+    }
+
+    private int wordId(String word) {
+        Integer existing = wordIds.get(word);
+        if (existing != null) {
+            return existing;
+        }
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+            words.set(id, word);
+            eventsByWord.set(id, new LongPostings());
+        } else {
+            id = words.size();
+            words.add(word);
+            eventsByWord.add(new LongPostings());
+        }
+        wordIds.put(word, id);
+        while (wordsByLength.size() <= word.length()) {
+            wordsByLength.add(new IntPostings());
+        }
+        wordsByLength.get(word.length()).add(id);
+        for (long gram : trigrams(word)) {
+            trigrams.computeIfAbsent(gram, key -> new IntPostings()).add(id);
+        }
+        return id;
+    }
+
+    private void remove(EventSummary event) {
+        for (String word : Tokenizer.tokens(event.getName())) {
+            Integer id = wordIds.get(word);
+            if (id == null || !eventsByWord.get(id).remove(event.getId()) || !eventsByWord.get(id).isEmpty()) {
+                continue;
+            }
+            for (long gram : trigrams(word)) {
+                IntPostings postings = trigrams.get(gram);
+                if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                    trigrams.remove(gram);
+                }
+            }
+            wordIds.remove(word);
+            wordsByLength.get(word.length()).remove(id);
+            words.set(id, null);
+            eventsByWord.set(id, null);
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+        }
+    }
+
+    /**
+     * Distinct trigrams of the word padded with a blank on both sides, each packed into a long.
+     */
+    static long[] trigrams(String word) {
+        String padded = PAD + word + PAD;
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
@@ -0,0 +1,37 @@
+package com.service.eventservice.search;
+
+/**
+ * One page of ranked event ids together with the number of events that matched in total.
+ */
+public final class Hits {
+
+    private final long[] ids;
+    private final double[] scores;
+    private final int total;
+
+    Hits(long[] ids, double[] scores, int total) {
+        this.ids = ids;
+        this.scores = scores;
+        this.total = total;
+    }
+
+    static Hits empty() {
+        return new Hits(new long[0], new double[0], 0);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public double score(int index) {
+        return scores[index];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
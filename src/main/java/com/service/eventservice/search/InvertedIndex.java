@@ -0,0 +1,221 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Word index over event names and addresses. Every word maps to the sorted ids of the events that
+ * contain it, per field. A query matches the events that contain all of its words, where a query word
+ * also matches the indexed words it is a prefix of, so "main st" finds "Main Street 1". A whole word
+ * scores more than a prefix and a name match more than an address match; the score of an event is the
+ * sum of its best match for each query word.
+ */
+@Component
+public class InvertedIndex implements EventWriteListener {
+
+    static final int MAX_QUERY_WORDS = 8;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double[] WEIGHTS = {0.5, 1.0, 1.0, 2.0};
+    private static final int ADDRESS_PREFIX = 0;
+    private static final int ADDRESS_WORD = 1;
+    private static final int NAME_PREFIX = 2;
+    private static final int NAME_WORD = 3;
+
+    private final NavigableMap<String, LongPostings> nameWords = new TreeMap<>();
+    private final NavigableMap<String, LongPostings> addressWords = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void eventSaved(EventSummary previous, EventSummary current) {
+        if (previous != null && Objects.equals(previous.getName(), current.getName())
+                && Objects.equals(previous.getAddress(), current.getAddress())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous);
+            }
+            add(nameWords, current.getName(), current.getId());
+            add(addressWords, current.getAddress(), current.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventDeleted(EventSummary previous) {
+        lock.writeLock().lock();
+        try {
+            remove(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the requested page of events matching every word of the query, best match first.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> words = Tokenizer.tokens(query);
+        if (words.isEmpty()) {
+            return Hits.empty();
+        }
+        words = words.subList(0, Math.min(words.size(), MAX_QUERY_WORDS));
+        lock.readLock().lock();
+        try {
+            List<WordMatch> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                WordMatch match = match(word);
+                if (match.estimatedSize == 0) {
+                    return Hits.empty();
+                }
+                matches.add(match);
+            }
+            matches.sort(Comparator.comparingInt(match -> match.estimatedSize));
+            return intersect(matches, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hits intersect(List<WordMatch> matches, int offset, int limit) {
+        WordMatch rarest = matches.get(0);
+        long[] keys = rarest.collect();
+        long[] ids = new long[keys.length];
+        double[] scores = new double[keys.length];
+        int count = 0;
+        candidates:
+        for (long key : keys) {
+            long id = key >>> 2;
+            double score = WEIGHTS[(int) (key & 3)];
+            for (int i = 1; i < matches.size(); i++) {
+                double weight = matches.get(i).weightOf(id);
+                if (weight == 0) {
+                    continue candidates;
+                }
+                score += weight;
+            }
+            ids[count] = id;
+            scores[count++] = score;
+        }
+        return TopHits.select(ids, scores, count, offset, limit);
+    }
+
+    private WordMatch match(String word) {
+        WordMatch match = new WordMatch();
+        expand(match, nameWords, word, NAME_WORD, NAME_PREFIX);
+        expand(match, addressWords, word, ADDRESS_WORD, ADDRESS_PREFIX);
+        return match;
+    }
+
+    private static void expand(WordMatch match, NavigableMap<String, LongPostings> words, String word,
+                               int wholeWord, int prefix) {
+        LongPostings exact = words.get(word);
+        if (exact != null) {
+            match.add(exact, wholeWord);
+        }
+        int expansions = 0;
+        for (Map.Entry<String, LongPostings> entry : words.tailMap(word, false).entrySet()) {
+            if (!entry.getKey().startsWith(word) || ++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            match.add(entry.getValue(), prefix);
+        }
+    }
+
+    private void add(NavigableMap<String, LongPostings> words, String text, long id) {
+        for (String word : Tokenizer.tokens(text)) {
+            words.computeIfAbsent(word, key -> new LongPostings()).add(id);
+        }
+    }
+
+    private void remove(EventSummary event) {
+        remove(nameWords, event.getName(), event.getId());
+        remove(addressWords, event.getAddress(), event.getId());
+    }
+
+    private void remove(NavigableMap<String, LongPostings> words, String text, long id) {
+        for (String word : Tokenizer.tokens(text)) {
+            LongPostings postings = words.get(word);
+            if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                words.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Posting lists one query word matched, each with the kind of match it stands for.
+     */
+    private static final class WordMatch {
+        private final List<LongPostings> postings = new ArrayList<>();
+        private int[] kinds = new int[4];
+        private int[] cursors = new int[4];
+        private int estimatedSize;
+
+        void add(LongPostings list, int kind) {
+            if (postings.size() == kinds.length) {
+                kinds = Arrays.copyOf(kinds, kinds.length * 2);
+                cursors = Arrays.copyOf(cursors, cursors.length * 2);
+            }
+            kinds[postings.size()] = kind;
+            postings.add(list);
+            estimatedSize += list.size();
+        }
+
+        /**
+         * Weight of the best match for {@code id}, or 0. Ids must be asked for in ascending order, as
+         * every list is walked forward from where the previous call stopped.
+         */
+        double weightOf(long id) {
+            int best = -1;
+            for (int i = 0; i < postings.size(); i++) {
+                LongPostings list = postings.get(i);
+                if (cursors[i] < list.size()) {
+                    cursors[i] = list.advance(cursors[i], id);
+                    if (kinds[i] > best && cursors[i] < list.size() && list.get(cursors[i]) == id) {
+                        best = kinds[i];
+                    }
+                }
+            }
+            return best < 0 ? 0 : WEIGHTS[best];
+        }
+
+        /**
+         * Every matching id once, sorted, shifted left by two bits with its best kind of match in the low bits.
+         */
+        long[] collect() {
+            long[] keys = new long[estimatedSize];
+            int count = 0;
+            for (int i = 0; i < postings.size(); i++) {
+                LongPostings list = postings.get(i);
+                for (int j = 0; j < list.size(); j++) {
+                    keys[count++] = list.get(j) << 2 | kinds[i];
+                }
+            }
+            if (postings.size() == 1) {
+                return keys;
+            }
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (i + 1 < count && keys[i] >>> 2 == keys[i + 1] >>> 2) {
+                    continue;
+                }
+                keys[distinct++] = keys[i];
+            }
+            return Arrays.copyOf(keys, distinct);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.service.eventservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of event ids backed by a growable {@code long[]}. Ids come from a sequence, so new events
+ * almost always append at the end.
+ */
+final class LongPostings {
+
+    private long[] ids = new long[2];
+    private int size;
+
+    boolean add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Index of the first id not smaller than {@code id}, searching from {@code from} on. Steps a few
+     * ids linearly and then gallops ahead before bisecting, so walking the list with ascending ids costs
+     * about as much as a merge when the lists are similarly dense and far less when they are not.
+     */
+    int advance(int from, long id) {
+        int linearEnd = Math.min(from + 8, size);
+        while (from < linearEnd && ids[from] < id) {
+            from++;
+        }
+        if (from < linearEnd || from == size) {
+            return from;
+        }
+        int bound = 1;
+        while (from + bound < size && ids[from + bound] < id) {
+            bound <<= 1;
+        }
+        int index = Arrays.binarySearch(ids, from + (bound >> 1), Math.min(from + bound + 1, size), id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.service.eventservice.search;
+
+/**
+ * Picks one page of the best scoring matches, best score first and lower id first among equal scores,
+ * keeping only {@code offset + limit} candidates in a heap instead of sorting every match.
+ */
+final class TopHits {
+
+    private TopHits() {
+    }
+
+    static Hits select(long[] ids, double[] scores, int count, int offset, int limit) {
+        int wanted = (int) Math.min(count, (long) offset + limit);
+        if (offset >= wanted) {
+            return new Hits(new long[0], new double[0], count);
+        }
+        int[] heap = new int[wanted];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            if (heapSize < wanted) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, ids, scores);
+            } else if (better(i, heap[0], ids, scores)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, ids, scores);
+            }
+        }
+        long[] pageIds = new long[wanted - offset];
+        double[] pageScores = new double[wanted - offset];
+        for (int position = wanted - 1; position >= 0; position--) {
+            int worst = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, ids, scores);
+            if (position >= offset) {
+                pageIds[position - offset] = ids[worst];
+                pageScores[position - offset] = scores[worst];
+            }
+        }
+        return new Hits(pageIds, pageScores, count);
+    }
+
+    private static boolean better(int a, int b, long[] ids, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && ids[a] < ids[b]);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] ids, double[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], heap[index], ids, scores)) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, long[] ids, double[] scores) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int worse = left + 1 < size && better(heap[left], heap[left + 1], ids, scores) ? left + 1 : left;
+            if (!better(heap[index], heap[worse], ids, scores)) {
+                return;
+            }
+            swap(heap, index, worse);
+            index = worse;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
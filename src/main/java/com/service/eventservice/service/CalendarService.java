@@ -0,0 +1,14 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.model.CalendarDay;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface CalendarService {
+
+    List<CalendarDay> month(YearMonth month, int topNames);
+
+    List<CalendarDay> week(LocalDate date, int topNames);
+}
@@ -0,0 +1,85 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.cache.CalendarCache;
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class CalendarServiceImpl implements CalendarService {
+
+    private EventRepository eventRepository;
+    private CalendarCache calendarCache;
+
+    @Autowired
+    public CalendarServiceImpl(EventRepository eventRepository, CalendarCache calendarCache) {
+        this.eventRepository = eventRepository;
+        this.calendarCache = calendarCache;
+    }
+
+    @Override
+    public List<CalendarDay> month(YearMonth month, int topNames) {
+        return days(month.atDay(1), month.atEndOfMonth(), topNames);
+    }
+
+    /**
+     * Days of the ISO week, Monday to Sunday, containing the given date.
+     */
+    @Override
+    public List<CalendarDay> week(LocalDate date, int topNames) {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+        return days(monday, monday.plusDays(6), topNames);
+    }
+
+    private List<CalendarDay> days(LocalDate since, LocalDate until, int topNames) {
+        int top = Math.max(0, Math.min(topNames, CalendarCache.MAX_TOP_EVENTS));
+        List<CalendarDay> days = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(since); !month.isAfter(YearMonth.from(until)); month = month.plusMonths(1)) {
+            Map<LocalDate, List<EventSummary>> topEvents = top == 0 ? Collections.emptyMap()
+                    : calendarCache.topEvents().getOrLoad(month, this::loadTopEvents);
+            for (CalendarDay day : calendarCache.dayCounts().getOrLoad(month, this::loadDayCounts)) {
+                if (day.getDate().isBefore(since) || day.getDate().isAfter(until)) {
+                    continue;
+                }
+                List<String> dayNames = topEvents.getOrDefault(day.getDate(), Collections.emptyList()).stream()
+                        .limit(top)
+                        .map(EventSummary::getName)
+                        .collect(Collectors.toList());
+                days.add(top == 0 ? day : new CalendarDay(day.getDate(), day.getEventCount(), dayNames));
+            }
+        }
+        return days;
+    }
+
+    private List<CalendarDay> loadDayCounts(YearMonth month) {
+        return Collections.unmodifiableList(eventRepository.countByDateBetween(month.atDay(1), month.atEndOfMonth()));
+    }
+
+    /**
+     * Reads the most attended events of each day of the month that has any, so a busy day costs a
+     * bounded page instead of all of its events.
+     */
+    private Map<LocalDate, List<EventSummary>> loadTopEvents(YearMonth month) {
+        Pageable top = PageRequest.of(0, CalendarCache.MAX_TOP_EVENTS);
+        Map<LocalDate, List<EventSummary>> topEvents = new HashMap<>();
+        for (CalendarDay day : calendarCache.dayCounts().getOrLoad(month, this::loadDayCounts)) {
+            topEvents.put(day.getDate(), Collections.unmodifiableList(
+                    eventRepository.findByDateMostAttendedFirst(day.getDate(), top)));
+        }
+        return Collections.unmodifiableMap(topEvents);
+    }
+}
@@ -0,0 +1,127 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.ImportError;
+import com.service.eventservice.model.ImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Drives a bulk import: rows are parsed while the body streams in, valid ones are collected into chunks and
+ * every chunk is written in its own transaction, so memory stays bounded and a failing chunk only loses
+ * its own rows. Parsers reject a row by throwing {@link InvalidRequestException}.
+ */
+final class ChunkedImport<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedImport.class);
+
+    interface ChunkWriter<T> {
+        /**
+         * Writes the chunk inside the surrounding transaction and returns the values that were stored;
+         * rows it refuses are added to {@code rejected}.
+         */
+        List<T> write(List<Row<T>> chunk, List<ImportError> rejected);
+    }
+
+    static final class Row<T> {
+        private final long line;
+        private final T value;
+
+        Row(long line, T value) {
+            this.line = line;
+            this.value = value;
+        }
+
+        long getLine() {
+            return line;
+        }
+
+        T getValue() {
+            return value;
+        }
+    }
+
+    private final String name;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Function<ImportRow, T> parser;
+    private final ChunkWriter<T> writer;
+    private final Consumer<List<T>> committed;
+
+    ChunkedImport(String name, TransactionTemplate transactionTemplate, int chunkSize,
+                  Function<ImportRow, T> parser, ChunkWriter<T> writer, Consumer<List<T>> committed) {
+        this.name = name;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parser = parser;
+        this.writer = writer;
+        this.committed = committed;
+    }
+
+    ImportReport run(InputStream body, MediaType format) {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        try (ImportRowReader rows = ImportRowReader.open(body, format)) {
+            while (rows.hasNext()) {
+                ImportRow row = rows.next();
+                report.rowReceived();
+                if (row.getError() != null) {
+                    report.rowFailed(row.getLine(), row.getError());
+                    continue;
+                }
+                try {
+                    chunk.add(new Row<>(row.getLine(), parser.apply(row)));
+                } catch (InvalidRequestException e) {
+                    report.rowFailed(row.getLine(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                    logProgress(report, start);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, report);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new InvalidRequestException("Could not read the " + name + " import body: " + e.getMessage());
+        }
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("{} import finished: {} rows received, {} imported, {} failed in {} ms", name,
+                report.getReceived(), report.getImported(), report.getFailed(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void writeChunk(List<Row<T>> chunk, ImportReport report) {
+        List<ImportError> rejected = new ArrayList<>();
+        List<T> written;
+        try {
+            written = transactionTemplate.execute(status -> writer.write(chunk, rejected));
+        } catch (RuntimeException e) {
+            log.warn("{} import chunk of {} rows starting at line {} was rolled back", name, chunk.size(),
+                    chunk.get(0).getLine(), e);
+            String message = "Rolled back with its chunk: " + e.getMessage();
+            chunk.forEach(row -> report.rowFailed(row.getLine(), message));
+            return;
+        }
+        rejected.forEach(error -> report.rowFailed(error.getLine(), error.getMessage()));
+        report.rowsImported(written.size());
+        committed.accept(written);
+    }
+
+    private void logProgress(ImportReport report, long start) {
+        log.info("{} import progress: {} rows received, {} imported, {} failed after {} ms", name,
+                report.getReceived(), report.getImported(), report.getFailed(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
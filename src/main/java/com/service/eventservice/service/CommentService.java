@@ -1,6 +1,10 @@
 package com.service.eventservice.service;
 
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.CursorPage;
+import com.service.eventservice.model.LookupResult;
+import com.service.eventservice.writebehind.WriteBehindStats;
 
 import java.util.List;
 
@@ -8,13 +12,19 @@ public interface CommentService {
 
     Comment createUserCommentForGivenEvent(Comment comment, long userId, long eventId);
 
+    boolean isCreateAcknowledgedBeforeWrite();
+
+    WriteBehindStats getWriteBehindStats();
+
     List<Comment> getAllUserCommentsForEvent(long userId, long eventId);
 
-    List<Comment> getAllCommentsForEvent(long eventId);
+    CursorPage<CommentSummary> getCommentsForEvent(long eventId, String cursor, int size);
 
-    List<Comment> getAllCommentsForUser(long userId);
+    CursorPage<CommentSummary> getCommentsForUser(long userId, String cursor, int size);
 
     Comment deleteCommentById(long id);
 
     Comment findById(long id);
+
+    LookupResult<Comment> findByIds(List<Long> ids);
 }
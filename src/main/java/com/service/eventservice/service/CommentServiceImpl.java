@@ -4,12 +4,20 @@ import com.service.eventservice.exception.CommentNotFoundException;
 import com.service.eventservice.exception.EventNotFoundException;
 import com.service.eventservice.exception.UserNotFoundException;
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.CursorPage;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.PendingComment;
 import com.service.eventservice.model.User;
 import com.service.eventservice.repository.CommentRepository;
 import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.writebehind.AckMode;
+import com.service.eventservice.writebehind.CommentWriteBehind;
+import com.service.eventservice.writebehind.WriteBehindStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,19 +25,34 @@ import java.util.List;
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private CommentRepository commentRepository;
     private UserRepository userRepository;
     private EventRepository eventRepository;
+    private CommentWriteBehind commentWriteBehind;
 
     @Autowired
-    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, EventRepository eventRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, EventRepository eventRepository,
+                              CommentWriteBehind commentWriteBehind) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.commentWriteBehind = commentWriteBehind;
     }
 
     @Override
     public Comment createUserCommentForGivenEvent(Comment comment, long userId, long eventId) {
+        if (commentWriteBehind.isEnabled()) {
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("User does not exist " + userId);
+            }
+            if (!eventRepository.existsById(eventId)) {
+                throw new EventNotFoundException("Event does not exist " + eventId);
+            }
+            commentWriteBehind.submit(new PendingComment(comment.getContents(), userId, eventId));
+            return comment;
+        }
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User does not exist " + userId));
         Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException("Event does not exist " + eventId));
         comment.setEvent(event);
@@ -37,19 +60,41 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.save(comment);
     }
 
+    @Override
+    public boolean isCreateAcknowledgedBeforeWrite() {
+        return commentWriteBehind.isEnabled() && commentWriteBehind.getAckMode() == AckMode.ENQUEUE;
+    }
+
+    @Override
+    public WriteBehindStats getWriteBehindStats() {
+        return commentWriteBehind.stats();
+    }
+
     @Override
     public List<Comment> getAllUserCommentsForEvent(long userId, long eventId) {
         return commentRepository.findByEventIdAndUserId(userId, eventId);
     }
 
     @Override
-    public List<Comment> getAllCommentsForEvent(long eventId) {
-        return commentRepository.findByEventId(eventId);
+    public CursorPage<CommentSummary> getCommentsForEvent(long eventId, String cursor, int size) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Event does not exist " + eventId);
+        }
+        int pageSize = CursorCodec.pageSize(size, MAX_PAGE_SIZE);
+        List<CommentSummary> comments = commentRepository
+                .findSummariesByEventIdBefore(eventId, beforeId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(comments, pageSize, comment -> CursorCodec.encode(comment.getId().toString()));
     }
 
     @Override
-    public List<Comment> getAllCommentsForUser(long userId) {
-        return commentRepository.findByUserId(userId);
+    public CursorPage<CommentSummary> getCommentsForUser(long userId, String cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User does not exist " + userId);
+        }
+        int pageSize = CursorCodec.pageSize(size, MAX_PAGE_SIZE);
+        List<CommentSummary> comments = commentRepository
+                .findSummariesByUserIdBefore(userId, beforeId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(comments, pageSize, comment -> CursorCodec.encode(comment.getId().toString()));
     }
 
     @Override
@@ -67,4 +112,13 @@ public class CommentServiceImpl implements CommentService {
                 .findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Comment does not exist " + id));
     }
+
+    @Override
+    public LookupResult<Comment> findByIds(List<Long> ids) {
+        return IdLookup.byIds(ids, commentRepository::findAllById, Comment::getId);
+    }
+
+    private static long beforeId(String cursor) {
+        return cursor == null || cursor.isEmpty() ? Long.MAX_VALUE : CursorCodec.decodeId(cursor);
+    }
 }
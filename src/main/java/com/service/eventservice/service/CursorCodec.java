@@ -0,0 +1,44 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    static String encode(String... parts) {
+        String joined = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, int expectedParts) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = joined.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new InvalidRequestException("Invalid cursor " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor " + cursor);
+        }
+    }
+
+    static long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor " + cursor);
+        }
+    }
+
+    static int pageSize(int requested, int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+}
@@ -0,0 +1,17 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.ScoredEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface EventSearchService {
+
+    Page<ScoredEvent> searchText(String query, Pageable pageable);
+
+    Page<ScoredEvent> searchFuzzy(String query, Pageable pageable);
+
+    List<Completion> autocomplete(String prefix, int limit);
+}
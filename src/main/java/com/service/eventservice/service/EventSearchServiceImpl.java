@@ -0,0 +1,87 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ScoredEvent;
+import com.service.eventservice.search.AutocompleteIndex;
+import com.service.eventservice.search.EventIndexer;
+import com.service.eventservice.search.FuzzyIndex;
+import com.service.eventservice.search.Hits;
+import com.service.eventservice.search.InvertedIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class EventSearchServiceImpl implements EventSearchService {
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int MAX_COMPLETIONS = 10;
+
+    private EventIndexer eventIndexer;
+    private InvertedIndex invertedIndex;
+    private AutocompleteIndex autocompleteIndex;
+    private FuzzyIndex fuzzyIndex;
+
+    @Autowired
+    public EventSearchServiceImpl(EventIndexer eventIndexer, InvertedIndex invertedIndex,
+                                  AutocompleteIndex autocompleteIndex, FuzzyIndex fuzzyIndex) {
+        this.eventIndexer = eventIndexer;
+        this.invertedIndex = invertedIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.fuzzyIndex = fuzzyIndex;
+    }
+
+    @Override
+    public Page<ScoredEvent> searchText(String query, Pageable pageable) {
+        checkQuery(query);
+        Pageable page = bounded(pageable);
+        return toPage(invertedIndex.search(query, offset(page), page.getPageSize()), page);
+    }
+
+    @Override
+    public Page<ScoredEvent> searchFuzzy(String query, Pageable pageable) {
+        checkQuery(query);
+        Pageable page = bounded(pageable);
+        return toPage(fuzzyIndex.search(query, offset(page), page.getPageSize()), page);
+    }
+
+    @Override
+    public List<Completion> autocomplete(String prefix, int limit) {
+        checkQuery(prefix);
+        return autocompleteIndex.complete(prefix, CursorCodec.pageSize(limit, MAX_COMPLETIONS));
+    }
+
+    private static void checkQuery(String query) {
+        if (query == null || query.trim().isEmpty() || query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestException("A query of 1 to " + MAX_QUERY_LENGTH + " characters is required");
+        }
+    }
+
+    private static Pageable bounded(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), CursorCodec.pageSize(pageable.getPageSize(), MAX_PAGE_SIZE));
+    }
+
+    private static int offset(Pageable page) {
+        return (int) Math.min(page.getOffset(), Integer.MAX_VALUE - MAX_PAGE_SIZE);
+    }
+
+    private Page<ScoredEvent> toPage(Hits hits, Pageable page) {
+        List<ScoredEvent> events = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            EventSummary event = eventIndexer.get(hits.id(i));
+            if (event != null) {
+                events.add(new ScoredEvent(event, hits.score(i)));
+            }
+        }
+        return new PageImpl<>(events, page, hits.getTotal());
+    }
+}
@@ -1,34 +1,56 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventService {
 
     List<Event> findAllEvents();
 
-    List<Event> findByName(String name);
+    CursorPage<EventSummary> findEventsPage(String cursor, int size);
+
+    void exportEvents(Consumer<Event> consumer);
+
+    List<EventSummary> findByName(String name);
 
     Event findById(long id);
 
-    List<Event> findByAddress(String address);
+    LookupResult<Event> findByIds(List<Long> ids);
+
+    List<EventSummary> findByAddress(String address);
 
-    List<Event> findByDateRange(@DateTimeFormat(pattern = "yyyy-MM-dd")LocalDate since,
-                                @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate until);
+    List<EventSummary> findByDateRange(@DateTimeFormat(pattern = "yyyy-MM-dd")LocalDate since,
+                                       @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate until);
 
     Event findByOrganizerId(long id);
 
-    List<Event> findByDate(LocalDate date);
+    List<EventSummary> findByDate(LocalDate date);
 
     Event createEvent(Event event);
 
+    ImportReport importEvents(InputStream body, MediaType format);
+
     Event updateEvent(Event event, long id);
 
+    Event updateEvent(Event event, long id, Long expectedVersion);
+
     Event deleteEvent(long id);
 
-    List<Event> findByNameAndAddressAndDate(String name, String address, LocalDate date);
+    List<EventSummary> findByNameAndAddressAndDate(String name, String address, LocalDate date);
+
+    Page<EventSummary> searchEvents(EventSearchCriteria criteria, Pageable pageable);
 
 }
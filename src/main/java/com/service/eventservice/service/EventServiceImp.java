@@ -1,22 +1,78 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
 import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.exception.PreconditionFailedException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ImportError;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.BulkInsertRepository;
 import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.search.DateIndex;
+import com.service.eventservice.search.EventIndexer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class EventServiceImp implements EventService {
 
+    static final int MAX_PAGE_SIZE = 100;
+    static final int IMPORT_CHUNK_SIZE = 1000;
+    static final int EXPORT_BLOCK_SIZE = 500;
+
     private EventRepository eventRepository;
+    private EntityManager entityManager;
+    private EventCache eventCache;
+    private SeatReservations seatReservations;
+    private BulkInsertRepository bulkInsertRepository;
+    private TransactionTemplate transactionTemplate;
+    private Validator validator;
+    private OptimisticRetry optimisticRetry;
+    private EventIndexer eventIndexer;
+    private DateIndex dateIndex;
 
     @Autowired
-    public EventServiceImp(EventRepository eventRepository) {
+    public EventServiceImp(EventRepository eventRepository, EntityManager entityManager, EventCache eventCache,
+                           SeatReservations seatReservations, BulkInsertRepository bulkInsertRepository,
+                           PlatformTransactionManager transactionManager, Validator validator,
+                           OptimisticRetry optimisticRetry, EventIndexer eventIndexer, DateIndex dateIndex) {
         this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.eventCache = eventCache;
+        this.seatReservations = seatReservations;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.optimisticRetry = optimisticRetry;
+        this.eventIndexer = eventIndexer;
+        this.dateIndex = dateIndex;
     }
 
     @Override
@@ -25,33 +81,86 @@ public class EventServiceImp implements EventService {
     }
 
     @Override
-    public List<Event> findByName(String name) {
-        List<Event> eventsByName = eventRepository.findByNameIgnoreCase(name);
-        if (eventsByName == null || eventsByName.isEmpty()) {
-            throw new EventNotFoundException("Event not found " + name);
+    public CursorPage<EventSummary> findEventsPage(String cursor, int size) {
+        int pageSize = CursorCodec.pageSize(size, MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<EventSummary> events;
+        if (cursor == null || cursor.isEmpty()) {
+            events = eventRepository.findSummaryPage(limit);
+        } else {
+            String[] position = CursorCodec.decode(cursor, 2);
+            LocalDate date;
+            long id;
+            try {
+                date = LocalDate.parse(position[0]);
+                id = Long.parseLong(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new InvalidRequestException("Invalid cursor " + cursor);
+            }
+            events = eventRepository.findSummaryPageAfter(date, id, limit);
+        }
+        return CursorPage.of(events, pageSize, event -> CursorCodec.encode(event.getDate().toString(), event.getId().toString()));
+    }
+
+    /**
+     * Exports in blocks of ids taken in order, each loaded with its organizers and participants in one
+     * query and cleared from the persistence context once handed to the consumer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvents(Consumer<Event> consumer) {
+        Pageable block = PageRequest.of(0, EXPORT_BLOCK_SIZE);
+        List<Long> ids = eventRepository.findIdsAfter(Long.MIN_VALUE, block);
+        while (!ids.isEmpty()) {
+            eventRepository.findDistinctWithOrganizerAndUsersByIdInOrderByIdAsc(ids).forEach(consumer);
+            entityManager.clear();
+            if (ids.size() < EXPORT_BLOCK_SIZE) {
+                break;
+            }
+            ids = eventRepository.findIdsAfter(ids.get(ids.size() - 1), block);
         }
-        return eventsByName;
+    }
+
+    @Override
+    public List<EventSummary> findByName(String name) {
+        return eventCache.eventsByName().getOrLoad(EventCache.textKey(name), key -> {
+            List<EventSummary> eventsByName = eventRepository.findSummariesByName(name);
+            if (eventsByName == null || eventsByName.isEmpty()) {
+                throw new EventNotFoundException("Event not found " + name);
+            }
+            return Collections.unmodifiableList(eventsByName);
+        });
     }
 
     @Override
     public Event findById(long id) {
-        return eventRepository
-                .findById(id)
-                .orElseThrow(() -> new EventNotFoundException("Event not found " + id));
+        return eventCache.eventsById().getOrLoad(id, key -> eventRepository
+                .findWithOrganizerAndUsersById(key)
+                .orElseThrow(() -> new EventNotFoundException("Event not found " + id)));
     }
 
     @Override
-    public List<Event> findByAddress(String address) {
-        List<Event> eventByAddress = eventRepository.findByAddressIgnoreCase(address);
-        if (eventByAddress == null || eventByAddress.isEmpty()) {
-            throw new EventNotFoundException("Event not found " + address);
-        }
-        return eventByAddress;
+    public LookupResult<Event> findByIds(List<Long> ids) {
+        return IdLookup.byIds(ids, eventRepository::findDistinctWithOrganizerAndUsersByIdIn, Event::getId);
+    }
+
+    @Override
+    public List<EventSummary> findByAddress(String address) {
+        return eventCache.eventsByAddress().getOrLoad(EventCache.textKey(address), key -> {
+            List<EventSummary> eventByAddress = eventRepository.findSummariesByAddress(address);
+            if (eventByAddress == null || eventByAddress.isEmpty()) {
+                throw new EventNotFoundException("Event not found " + address);
+            }
+            return Collections.unmodifiableList(eventByAddress);
+        });
     }
 
     @Override
-    public List<Event> findByDateRange(LocalDate since, LocalDate until) {
-        return eventRepository.findByDateBetween(since, until);
+    public List<EventSummary> findByDateRange(LocalDate since, LocalDate until) {
+        if (dateIndex.isReady()) {
+            return indexedByDate(since, until);
+        }
+        return eventRepository.findSummariesByDateBetween(since, until);
     }
 
     @Override
@@ -60,46 +169,179 @@ public class EventServiceImp implements EventService {
     }
 
     @Override
-    public List<Event> findByDate(LocalDate date) {
-        List<Event> eventsByDate = eventRepository.findByDate(date);
-        if (eventsByDate == null || eventsByDate.isEmpty()) {
-            throw new EventNotFoundException("Event not found by given date " + date);
+    public List<EventSummary> findByDate(LocalDate date) {
+        if (dateIndex.isReady()) {
+            List<EventSummary> eventsByDate = indexedByDate(date, date);
+            if (eventsByDate.isEmpty()) {
+                throw new EventNotFoundException("Event not found by given date " + date);
+            }
+            return eventsByDate;
         }
-        return eventsByDate;
+        return eventCache.eventsByDate().getOrLoad(date, key -> {
+            List<EventSummary> eventsByDate = eventRepository.findSummariesByDate(date);
+            if (eventsByDate == null || eventsByDate.isEmpty()) {
+                throw new EventNotFoundException("Event not found by given date " + date);
+            }
+            return Collections.unmodifiableList(eventsByDate);
+        });
+    }
+
+    /**
+     * Summaries of the events dated from {@code since} to {@code until}, read from the in-memory indexes
+     * in the order the repository would return them.
+     */
+    private List<EventSummary> indexedByDate(LocalDate since, LocalDate until) {
+        List<EventSummary> events = new ArrayList<>(dateIndex.count(since, until));
+        dateIndex.forEach(since, until, id -> {
+            EventSummary event = eventIndexer.get(id);
+            if (event != null) {
+                events.add(event);
+            }
+        });
+        return events;
     }
 
     @Override
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        Event created = eventRepository.save(event);
+        eventCache.evict(created);
+        eventIndexer.saved(created);
+        return created;
+    }
+
+    @Override
+    public ImportReport importEvents(InputStream body, MediaType format) {
+        return new ChunkedImport<>("Event", transactionTemplate, IMPORT_CHUNK_SIZE,
+                this::parseImportedEvent, this::persistImportedEvents,
+                events -> {
+                    events.forEach(eventCache::evict);
+                    eventIndexer.savedAll(events);
+                }).run(body, format);
+    }
+
+    private Event parseImportedEvent(ImportRow row) {
+        Event event = new Event(required(row, "name"), parseDate(required(row, "date")), required(row, "address"), null);
+        String capacity = row.get("capacity");
+        if (capacity != null) {
+            try {
+                event.setCapacity(Integer.parseInt(capacity));
+            } catch (NumberFormatException e) {
+                throw new InvalidRequestException("Invalid capacity " + capacity);
+            }
+            if (event.getCapacity() < 0) {
+                throw new InvalidRequestException("Capacity must not be negative");
+            }
+        }
+        String organizerName = row.get("organizer.name");
+        String organizerEmail = row.get("organizer.email");
+        if (organizerName != null || organizerEmail != null) {
+            event.setOrganizer(new Organizer(organizerName, organizerEmail));
+        }
+        if (organizerEmail != null) {
+            checkConstraints(validator.validateProperty(event.getOrganizer(), "email"));
+        }
+        return event;
+    }
+
+    private static String required(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new InvalidRequestException("Missing " + column);
+        }
+        return value;
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid date " + date + ", expected yyyy-MM-dd");
+        }
+    }
+
+    private static <T> void checkConstraints(Set<ConstraintViolation<T>> violations) {
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private List<Event> persistImportedEvents(List<ChunkedImport.Row<Event>> chunk, List<ImportError> rejected) {
+        List<Event> events = new ArrayList<>(chunk.size());
+        for (ChunkedImport.Row<Event> row : chunk) {
+            events.add(row.getValue());
+        }
+        bulkInsertRepository.insertEvents(events);
+        return events;
     }
 
     @Override
     public Event updateEvent(Event event, long id) {
-        Event eventById = eventRepository
-                .findById(id)
-                .orElseThrow(() -> new EventNotFoundException("Event not found for user " + id));
-        eventById.setName(event.getName());
-        eventById.setAddress(event.getAddress());
-        eventById.setDate(event.getDate());
-        eventById.setOrganizer(event.getOrganizer());
-        return eventRepository.save(eventById);
+        return updateEvent(event, id, null);
+    }
+
+    @Override
+    public Event updateEvent(Event event, long id, Long expectedVersion) {
+        Event previous = new Event();
+        Event updated = optimisticRetry.execute(() -> {
+            Event eventById = eventRepository
+                    .findById(id)
+                    .orElseThrow(() -> new EventNotFoundException("Event not found for user " + id));
+            if (expectedVersion != null && expectedVersion != eventById.getVersion()) {
+                throw new PreconditionFailedException("Event " + id + " is at version " + eventById.getVersion());
+            }
+            previous.setName(eventById.getName());
+            previous.setDate(eventById.getDate());
+            previous.setAddress(eventById.getAddress());
+            boolean capacityChanged = event.isCapacitySet()
+                    && !Objects.equals(eventById.getCapacity(), event.getCapacity());
+            eventById.setName(event.getName());
+            eventById.setAddress(event.getAddress());
+            eventById.setDate(event.getDate());
+            eventById.setOrganizer(event.getOrganizer());
+            if (event.isCapacitySet()) {
+                eventById.setCapacity(event.getCapacity());
+            }
+            Event saved = eventRepository.save(eventById);
+            if (capacityChanged) {
+                eventRepository.resyncSeatsTaken(id);
+                seatReservations.invalidate(id);
+            }
+            return saved;
+        });
+        eventCache.evict(id, previous.getName(), previous.getDate(), previous.getAddress());
+        eventCache.evict(updated);
+        eventIndexer.saved(updated);
+        return updated;
     }
-    
+
     @Override
     public Event deleteEvent(long id) {
         Event event = eventRepository
                 .findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event not found for user " + id));
         eventRepository.delete(event);
+        eventCache.evict(event);
+        seatReservations.invalidate(id);
+        eventIndexer.deleted(id);
         return event;
     }
 
     @Override
-    public List<Event> findByNameAndAddressAndDate(String name, String address, LocalDate date) {
-        List<Event> events = eventRepository.findByNameAndAddressAndDate(name, address, date);
+    public List<EventSummary> findByNameAndAddressAndDate(String name, String address, LocalDate date) {
+        List<EventSummary> events = eventRepository.findSummariesByNameAndAddressAndDate(name, address, date);
         if (events == null || events.isEmpty()) {
            throw new EventNotFoundException("Event not found");
         }
         return events;
     }
+
+    @Override
+    public Page<EventSummary> searchEvents(EventSearchCriteria criteria, Pageable pageable) {
+        Pageable bounded = PageRequest.of(pageable.getPageNumber(),
+                CursorCodec.pageSize(pageable.getPageSize(), MAX_PAGE_SIZE), pageable.getSort());
+        return eventRepository.search(criteria, bounded);
+    }
 }
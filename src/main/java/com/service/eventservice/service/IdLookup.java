@@ -0,0 +1,46 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.LookupResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+final class IdLookup {
+
+    static final int MAX_IDS = 100;
+
+    private IdLookup() {
+    }
+
+    /**
+     * Loads the distinct ids with one call to {@code loader} and returns the found items in request order,
+     * listing the ids that matched nothing instead of failing.
+     */
+    static <T> LookupResult<T> byIds(List<Long> ids, Function<List<Long>, Iterable<T>> loader, Function<T, Long> idOf) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (requested.size() > MAX_IDS) {
+            throw new InvalidRequestException("At most " + MAX_IDS + " ids can be looked up at once");
+        }
+        Map<Long, T> found = new HashMap<>();
+        loader.apply(requested).forEach(item -> found.put(idOf.apply(item), item));
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new LookupResult<>(items, missingIds);
+    }
+}
@@ -0,0 +1,37 @@
+package com.service.eventservice.service;
+
+import java.util.Map;
+
+final class ImportRow {
+
+    private final long line;
+    private final Map<String, String> values;
+    private final String error;
+
+    private ImportRow(long line, Map<String, String> values, String error) {
+        this.line = line;
+        this.values = values;
+        this.error = error;
+    }
+
+    static ImportRow of(long line, Map<String, String> values) {
+        return new ImportRow(line, values, null);
+    }
+
+    static ImportRow malformed(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+
+    long getLine() {
+        return line;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    String get(String column) {
+        String value = values.get(column);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
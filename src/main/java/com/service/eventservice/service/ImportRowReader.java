@@ -0,0 +1,183 @@
+package com.service.eventservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.eventservice.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an import body one row at a time, either as CSV with a header line or as newline-delimited JSON
+ * whose nested objects are flattened to dotted column names (e.g. {@code organizer.email}).
+ */
+final class ImportRowReader implements Iterator<ImportRow>, Closeable {
+
+    static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private List<String> header;
+    private long line;
+    private ImportRow next;
+
+    private ImportRowReader(InputStream body, boolean csv) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16);
+        this.csv = csv;
+    }
+
+    static ImportRowReader open(InputStream body, MediaType format) {
+        if (TEXT_CSV.isCompatibleWith(format)) {
+            return new ImportRowReader(body, true);
+        }
+        if (NDJSON.isCompatibleWith(format)) {
+            return new ImportRowReader(body, false);
+        }
+        throw new InvalidRequestException("Unsupported import format " + format);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = csv ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow readJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.trim().isEmpty());
+        try {
+            JsonNode node = JSON.readTree(text);
+            if (node == null || !node.isObject()) {
+                return ImportRow.malformed(line, "Expected a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            flatten("", node, values);
+            return ImportRow.of(line, values);
+        } catch (JsonProcessingException e) {
+            return ImportRow.malformed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static void flatten(String prefix, JsonNode node, Map<String, String> values) {
+        node.fields().forEachRemaining(field -> {
+            JsonNode value = field.getValue();
+            if (value.isObject()) {
+                flatten(prefix + field.getKey() + ".", value, values);
+            } else if (value.isValueNode() && !value.isNull()) {
+                values.put(prefix + field.getKey(), value.asText());
+            }
+        });
+    }
+
+    private ImportRow readCsvRow() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names;
+        }
+        List<String> fields;
+        long start;
+        do {
+            start = line + 1;
+            fields = readCsvRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+        if (fields.size() != header.size()) {
+            return ImportRow.malformed(start, "Expected " + header.size() + " columns but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(header.get(i).trim(), fields.get(i));
+        }
+        return ImportRow.of(start, values);
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,79 @@
+package com.service.eventservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a load-modify-save in its own transaction and, when the commit loses an optimistic version check
+ * to a concurrent writer, runs it again against fresh state after a short randomized exponential backoff.
+ * Gives up after a bounded number of attempts and rethrows the last conflict.
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionOperations transactionOperations;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    @Autowired
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${updates.retry.max-attempts:5}") int maxAttempts,
+                           @Value("${updates.retry.backoff-ms:5}") long backoffMillis) {
+        this(new TransactionTemplate(transactionManager), maxAttempts, backoffMillis);
+    }
+
+    OptimisticRetry(TransactionOperations transactionOperations, int maxAttempts, long backoffMillis) {
+        this.transactionOperations = transactionOperations;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    static OptimisticRetry withoutTransactions(int maxAttempts, long backoffMillis) {
+        return new OptimisticRetry(new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        }, maxAttempts, backoffMillis);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up after {} conflicting attempts", attempt);
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = backoffMillis << (attempt - 1);
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a conflicting update", e);
+        }
+    }
+}
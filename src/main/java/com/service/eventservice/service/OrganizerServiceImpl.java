@@ -1,8 +1,11 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
 import com.service.eventservice.exception.OrganizerNotFoundException;
 import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.OrganizerRepository;
+import com.service.eventservice.search.EventIndexer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,10 +15,17 @@ import java.util.List;
 public class OrganizerServiceImpl implements OrganizerService {
 
     private OrganizerRepository organizerRepository;
+    private EventCache eventCache;
+    private EventRepository eventRepository;
+    private EventIndexer eventIndexer;
 
     @Autowired
-    public OrganizerServiceImpl(OrganizerRepository organizerRepository) {
+    public OrganizerServiceImpl(OrganizerRepository organizerRepository, EventCache eventCache,
+                                EventRepository eventRepository, EventIndexer eventIndexer) {
         this.organizerRepository = organizerRepository;
+        this.eventCache = eventCache;
+        this.eventRepository = eventRepository;
+        this.eventIndexer = eventIndexer;
     }
 
     @Override
@@ -49,7 +59,12 @@ public class OrganizerServiceImpl implements OrganizerService {
                 .findById(id).orElseThrow(() -> new OrganizerNotFoundException("Organizer not found " + id));
         organizerById.setEmail(organizer.getEmail());
         organizerById.setName(organizer.getName());
-        return organizerRepository.save(organizerById);
+        Organizer updated = organizerRepository.save(organizerById);
+        if (organizerById.getEvent() != null) {
+            eventCache.evict(organizerById.getEvent());
+            eventRepository.findSummaryById(organizerById.getEvent().getId()).ifPresent(eventIndexer::saved);
+        }
+        return updated;
     }
 
     @Override
@@ -1,19 +1,25 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
-import com.service.eventservice.model.User;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ParticipationOutcome;
+import com.service.eventservice.model.UserSummary;
 
 import java.util.List;
-import java.util.Set;
 
 public interface ParticipationService {
 
     List<Event> findByUserId(long userId);
 
-    Set<User> findByEventId(long eventId);
+    CursorPage<UserSummary> findParticipants(long eventId, String cursor, int size);
 
-    Event addUserToEvent(long eventId, long userId);
+    EventSummary addUserToEvent(long eventId, long userId);
 
-    Event deleteUserByUserIdFromEvent(long eventId, long userId);
+    EventSummary deleteUserByUserIdFromEvent(long eventId, long userId);
+
+    List<ParticipationOutcome> addUsersToEvent(long eventId, List<Long> userIds);
+
+    List<ParticipationOutcome> deleteUsersFromEvent(long eventId, List<Long> userIds);
 
 }
@@ -1,27 +1,66 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.cache.SecondLevelCache;
+import com.service.eventservice.exception.EventFullException;
 import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
-import com.service.eventservice.model.User;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ParticipationOutcome;
+import com.service.eventservice.model.ParticipationOutcome.Status;
+import com.service.eventservice.model.UserSummary;
 import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.repository.ParticipationRepository;
 import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.search.EventIndexer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import static com.service.eventservice.model.ParticipationOutcome.Status.*;
 
 @Service
 public class ParticipationServiceImpl implements ParticipationService {
 
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_PAGE_SIZE = 100;
+
     private UserRepository userRepository;
     private EventRepository eventRepository;
+    private ParticipationRepository participationRepository;
+    private SeatReservations seatReservations;
+    private EventCache eventCache;
+    private SecondLevelCache secondLevelCache;
+    private EventIndexer eventIndexer;
 
     @Autowired
-    public ParticipationServiceImpl(UserRepository userRepository, EventRepository eventRepository) {
+    public ParticipationServiceImpl(UserRepository userRepository, EventRepository eventRepository,
+                                    ParticipationRepository participationRepository,
+                                    SeatReservations seatReservations, EventCache eventCache,
+                                    SecondLevelCache secondLevelCache, EventIndexer eventIndexer) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.participationRepository = participationRepository;
+        this.seatReservations = seatReservations;
+        this.eventCache = eventCache;
+        this.secondLevelCache = secondLevelCache;
+        this.eventIndexer = eventIndexer;
     }
 
     @Override
@@ -30,43 +69,139 @@ public class ParticipationServiceImpl implements ParticipationService {
     }
 
     @Override
-    public Set<User> findByEventId(long eventId) {
-        Event event = eventRepository
-                .findById(eventId)
-                .orElseThrow(() -> new EventNotFoundException("There are not any events for provided id " + eventId));
-        Set<User> users = event.getUsers();
-        if (users.isEmpty()) {
-            throw new UserNotFoundException("There are any users for the event_id " + eventId);
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> findParticipants(long eventId, String cursor, int size) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("There are not any events for provided id " + eventId);
+        }
+        int pageSize = CursorCodec.pageSize(size, MAX_PAGE_SIZE);
+        long afterUserId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            afterUserId = CursorCodec.decodeId(cursor);
         }
-        return users;
+        List<UserSummary> users = participationRepository.findParticipantsAfter(eventId, afterUserId, pageSize + 1);
+        return CursorPage.of(users, pageSize, user -> CursorCodec.encode(user.getId().toString()))
+                .withTotal(participationRepository.countParticipants(eventId));
+    }
 
+    @Override
+    @Transactional
+    public EventSummary addUserToEvent(long eventId, long userId) {
+        checkEventAndUserExist(eventId, userId);
+        checkSeatsLeft(eventId);
+        if (participationRepository.add(eventId, userId)) {
+            reserveSeats(eventId, 1);
+            secondLevelCache.evictParticipants(eventId);
+        }
+        return evictSummary(eventId);
     }
 
     @Override
-    public Event addUserToEvent(long eventId, long userId) {
-        Event event = eventRepository
-                .findById(eventId)
-                .orElseThrow(() -> new EventNotFoundException("Input event does not exist " + eventId));
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new UserNotFoundException("Input user does not exist " + userId));
-        event.getUsers().add(user);
-        eventRepository.save(event);
-        return event;
+    @Transactional
+    public EventSummary deleteUserByUserIdFromEvent(long eventId, long userId) {
+        checkEventAndUserExist(eventId, userId);
+        if (participationRepository.remove(eventId, userId)) {
+            seatReservations.release(eventId, 1);
+            secondLevelCache.evictParticipants(eventId);
+        }
+        return evictSummary(eventId);
     }
 
     @Override
-    public Event deleteUserByUserIdFromEvent(long eventId, long userId) {
-        Event event = eventRepository
-                .findById(eventId)
-                .orElseThrow(() -> new EventNotFoundException("Input event does not exist " + eventId));
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new UserNotFoundException("Input user does not exist " + userId));
-        event.getUsers().remove(user);
-        eventRepository.save(event);
-        return event;
+    @Transactional
+    public List<ParticipationOutcome> addUsersToEvent(long eventId, List<Long> userIds) {
+        return changeParticipation(eventId, userIds, ADDED, ALREADY_PARTICIPATING,
+                participationRepository::addAll, seats -> reserveSeats(eventId, seats));
     }
-}
 
+    @Override
+    @Transactional
+    public List<ParticipationOutcome> deleteUsersFromEvent(long eventId, List<Long> userIds) {
+        return changeParticipation(eventId, userIds, REMOVED, NOT_PARTICIPATING,
+                participationRepository::removeAll, seats -> seatReservations.release(eventId, seats));
+    }
 
+    private List<ParticipationOutcome> changeParticipation(long eventId, List<Long> userIds,
+                                                           Status changed, Status unchanged,
+                                                           BiFunction<Long, List<Long>, int[]> batchWrite,
+                                                           IntConsumer seatsChanged) {
+        if (userIds == null || userIds.isEmpty() || userIds.size() > MAX_BATCH_SIZE || userIds.contains(null)) {
+            throw new InvalidRequestException("Between 1 and " + MAX_BATCH_SIZE + " user ids are required");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Input event does not exist " + eventId);
+        }
+        if (changed == ADDED) {
+            checkSeatsLeft(eventId);
+        }
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Set<Long> found = new HashSet<>();
+        userRepository.findAllById(requested).forEach(user -> found.add(user.getId()));
+        List<Long> existing = requested.stream().filter(found::contains).collect(Collectors.toList());
 
+        Map<Long, Status> statuses = new HashMap<>();
+        if (!existing.isEmpty()) {
+            int[] counts = batchWrite.apply(eventId, existing);
+            int seats = 0;
+            for (int i = 0; i < existing.size(); i++) {
+                statuses.put(existing.get(i), counts[i] > 0 ? changed : unchanged);
+                seats += counts[i] > 0 ? 1 : 0;
+            }
+            seatsChanged.accept(seats);
+            if (seats > 0) {
+                secondLevelCache.evictParticipants(eventId);
+            }
+            eventRepository.findSummaryById(eventId).ifPresent(this::evict);
+            eventIndexer.refresh(eventId);
+        }
+        return requested.stream()
+                .map(id -> new ParticipationOutcome(id, statuses.getOrDefault(id, USER_NOT_FOUND)))
+                .collect(Collectors.toList());
+    }
 
+    private void checkEventAndUserExist(long eventId, long userId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Input event does not exist " + eventId);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Input user does not exist " + userId);
+        }
+    }
+
+    private void checkSeatsLeft(long eventId) {
+        if (!seatReservations.hasSeatsLeft(eventId)) {
+            throw new EventFullException("There are no seats left for the event " + eventId);
+        }
+    }
+
+    private void reserveSeats(long eventId, int seats) {
+        if (seats > 0 && !seatReservations.tryReserve(eventId, seats)) {
+            throw new EventFullException("There are fewer than " + seats + " seats left for the event " + eventId);
+        }
+    }
+
+    private EventSummary evictSummary(long eventId) {
+        EventSummary summary = eventRepository
+                .findSummaryById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Input event does not exist " + eventId));
+        evict(summary);
+        eventIndexer.refresh(eventId);
+        return summary;
+    }
+
+    /**
+     * Drops the cached event right away and once more after commit, in case a concurrent read cached
+     * the participant count from before this transaction in between.
+     */
+    private void evict(EventSummary summary) {
+        eventCache.evict(summary);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    eventCache.evict(summary);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits participants up to an event's capacity. Each event keeps an in-memory count of seats left so
+ * that a sold-out event is rejected without touching the database; a seat is only granted once the
+ * conditional update on {@code Event.seatsTaken} succeeds, which keeps the database authoritative.
+ * Events without a capacity have no count to keep and always go to the database. Counts only move back
+ * up, or are dropped to be reloaded, once the change behind it has committed.
+ */
+@Component
+public class SeatReservations {
+
+    private static final AtomicInteger UNLIMITED = new AtomicInteger(Integer.MAX_VALUE);
+
+    private final ConcurrentMap<Long, AtomicInteger> seatsLeft = new ConcurrentHashMap<>();
+    private EventRepository eventRepository;
+
+    @Autowired
+    public SeatReservations(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public boolean hasSeatsLeft(long eventId) {
+        return counter(eventId).get() > 0;
+    }
+
+    public boolean tryReserve(long eventId, int seats) {
+        AtomicInteger left = counter(eventId);
+        if (left == UNLIMITED) {
+            return eventRepository.reserveSeats(eventId, seats) > 0;
+        }
+        int current;
+        do {
+            current = left.get();
+            if (current < seats) {
+                return false;
+            }
+        } while (!left.compareAndSet(current, current - seats));
+
+        if (eventRepository.reserveSeats(eventId, seats) == 0) {
+            seatsLeft.remove(eventId, left);
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        left.addAndGet(seats);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(long eventId, int seats) {
+        if (seats <= 0 || eventRepository.releaseSeats(eventId, seats) == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            AtomicInteger left = seatsLeft.get(eventId);
+            if (left != null && left != UNLIMITED) {
+                left.addAndGet(seats);
+            }
+        });
+    }
+
+    /**
+     * Drops the count of an event whose capacity changed or that was deleted, once that change has
+     * committed, so that a count reloaded meanwhile from the old capacity does not outlive it.
+     */
+    public void invalidate(long eventId) {
+        afterCommit(() -> seatsLeft.remove(eventId));
+    }
+
+    private AtomicInteger counter(long eventId) {
+        return seatsLeft.computeIfAbsent(eventId, id -> {
+            int left = eventRepository.findSeatsLeftById(id).orElse(0);
+            return left == Integer.MAX_VALUE ? UNLIMITED : new AtomicInteger(Math.max(0, left));
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.User;
+import org.springframework.http.MediaType;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface UserService {
@@ -10,11 +14,17 @@ public interface UserService {
 
     User findById(long id);
 
+    LookupResult<User> findByIds(List<Long> ids);
+
     User createUser(User user);
 
+    ImportReport importUsers(InputStream body, MediaType format);
+
     User deleteUser(long id);
 
     User updateUser(User user, long id);
 
+    User updateUser(User user, long id, Long expectedVersion);
+
     List<User> findByUsername(String username);
 }
@@ -1,21 +1,58 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.cache.SingleFlight;
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.exception.PreconditionFailedException;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.ImportError;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.User;
+import com.service.eventservice.repository.BulkInsertRepository;
+import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    static final int IMPORT_CHUNK_SIZE = 1000;
+
     private UserRepository userRepository;
+    private EventRepository eventRepository;
+    private EventCache eventCache;
+    private BulkInsertRepository bulkInsertRepository;
+    private TransactionTemplate transactionTemplate;
+    private Validator validator;
+    private OptimisticRetry optimisticRetry;
+    private final SingleFlight<Long, User> usersById = new SingleFlight<>();
+    private final SingleFlight<String, List<User>> usersByUsername = new SingleFlight<>();
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, EventRepository eventRepository, EventCache eventCache,
+                           BulkInsertRepository bulkInsertRepository, PlatformTransactionManager transactionManager,
+                           Validator validator, OptimisticRetry optimisticRetry) {
         this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.eventCache = eventCache;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.optimisticRetry = optimisticRetry;
     }
 
     @Override
@@ -25,36 +62,106 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User findById(long id) {
-        return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found " + id));
+        return usersById.load(id, key -> userRepository.findById(key)
+                .orElseThrow(() -> new UserNotFoundException("User not found " + id)));
+    }
+
+    @Override
+    public LookupResult<User> findByIds(List<Long> ids) {
+        return IdLookup.byIds(ids, userRepository::findAllById, User::getId);
     }
 
     @Override
     public User createUser(User user) {
-        return userRepository.save(user);
+        User created = userRepository.save(user);
+        usersByUsername.forget(created.getUsername());
+        return created;
+    }
+
+    @Override
+    public ImportReport importUsers(InputStream body, MediaType format) {
+        Set<String> usernamesInImport = new HashSet<>();
+        return new ChunkedImport<>("User", transactionTemplate, IMPORT_CHUNK_SIZE,
+                row -> parseImportedUser(row, usernamesInImport), this::insertImportedUsers,
+                users -> { }).run(body, format);
+    }
+
+    private User parseImportedUser(ImportRow row, Set<String> usernamesInImport) {
+        String username = row.get("username");
+        String email = row.get("email");
+        if (username == null) {
+            throw new InvalidRequestException("Missing username");
+        }
+        if (email == null) {
+            throw new InvalidRequestException("Missing email");
+        }
+        User user = new User(row.get("password"), username, email);
+        Set<ConstraintViolation<User>> violations = validator.validateProperty(user, "email");
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException("email " + violations.iterator().next().getMessage());
+        }
+        if (!usernamesInImport.add(username)) {
+            throw new InvalidRequestException("Duplicate username " + username + " in import");
+        }
+        return user;
+    }
+
+    private List<User> insertImportedUsers(List<ChunkedImport.Row<User>> chunk, List<ImportError> rejected) {
+        Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.getValue().getUsername()).collect(Collectors.toList())));
+        List<User> users = new ArrayList<>(chunk.size());
+        for (ChunkedImport.Row<User> row : chunk) {
+            if (existing.contains(row.getValue().getUsername())) {
+                rejected.add(new ImportError(row.getLine(), "Username " + row.getValue().getUsername() + " already exists"));
+            } else {
+                users.add(row.getValue());
+            }
+        }
+        if (!users.isEmpty()) {
+            bulkInsertRepository.insertUsers(users);
+        }
+        return users;
     }
 
     @Override
     public User deleteUser(long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found " + id));
         userRepository.deleteById(id);
+        usersById.forget(id);
+        usersByUsername.forget(user.getUsername());
         return user;
     }
 
     @Override
     public User updateUser(User user, long id) {
-        User userById = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found " + id));
-        userById.setUsername(user.getUsername());
-        userById.setEmail(user.getEmail());
-        userRepository.save(userById);
-        return userById;
+        return updateUser(user, id, null);
+    }
+
+    @Override
+    public User updateUser(User user, long id, Long expectedVersion) {
+        User updated = optimisticRetry.execute(() -> {
+            User userById = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found " + id));
+            if (expectedVersion != null && expectedVersion != userById.getVersion()) {
+                throw new PreconditionFailedException("User " + id + " is at version " + userById.getVersion());
+            }
+            userById.setUsername(user.getUsername());
+            userById.setEmail(user.getEmail());
+            return userRepository.save(userById);
+        });
+        usersById.forget(id);
+        usersByUsername.forgetAll();
+        eventRepository.findIdsByUsersId(id).forEach(eventCache.eventsById()::invalidate);
+        return updated;
     }
 
     @Override
     public List<User> findByUsername(String username) {
-        List<User> usersByUsername = userRepository.findByUsername(username);
-        if (usersByUsername.isEmpty()) {
-            throw new UserNotFoundException("User " + username + " does not exist");
-        }
-        return usersByUsername;
+        return usersByUsername.load(username, key -> {
+            List<User> users = userRepository.findByUsername(key);
+            if (users.isEmpty()) {
+                throw new UserNotFoundException("User " + username + " does not exist");
+            }
+            return users;
+        });
     }
 }
@@ -0,0 +1,5 @@
+package com.service.eventservice.writebehind;
+
+public enum AckMode {
+    ENQUEUE, FLUSH
+}
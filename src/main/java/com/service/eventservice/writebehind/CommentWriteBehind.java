@@ -0,0 +1,245 @@
+package com.service.eventservice.writebehind;
+
+import com.service.eventservice.exception.CommentQueueFullException;
+import com.service.eventservice.exception.CommentRejectedException;
+import com.service.eventservice.exception.CommentWriteTimeoutException;
+import com.service.eventservice.model.PendingComment;
+import com.service.eventservice.repository.CommentBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Buffers accepted comments in a bounded queue and writes them from a single flusher thread in batched
+ * inserts, whenever a batch fills up or the flush interval elapses. Callers are acknowledged either as
+ * soon as the comment is queued or once its batch has been committed, depending on the ack mode.
+ */
+@Component
+public class CommentWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBehind.class);
+
+    private final boolean enabled;
+    private final AckMode ackMode;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long ackTimeoutMillis;
+    private final BlockingQueue<Entry> queue;
+    private final CommentBatchRepository commentBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public CommentWriteBehind(CommentBatchRepository commentBatchRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${comments.write-behind.enabled:false}") boolean enabled,
+                              @Value("${comments.write-behind.ack-mode:ENQUEUE}") AckMode ackMode,
+                              @Value("${comments.write-behind.queue-capacity:10000}") int queueCapacity,
+                              @Value("${comments.write-behind.batch-size:500}") int batchSize,
+                              @Value("${comments.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                              @Value("${comments.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+                              @Value("${comments.write-behind.ack-timeout-ms:5000}") long ackTimeoutMillis) {
+        this.commentBatchRepository = commentBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ackMode = ackMode;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "comment-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(ackTimeoutMillis);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AckMode getAckMode() {
+        return ackMode;
+    }
+
+    public void submit(PendingComment comment) {
+        Entry entry = new Entry(comment);
+        boolean queued = false;
+        try {
+            queued = running && queue.offer(entry, offerTimeoutMillis, MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            rejected.incrementAndGet();
+            throw new CommentQueueFullException("Comment queue is full, retry later");
+        }
+        accepted.incrementAndGet();
+        if (ackMode == AckMode.FLUSH) {
+            awaitWritten(entry);
+        }
+    }
+
+    public WriteBehindStats stats() {
+        long flushes = batches.get();
+        return new WriteBehindStats(enabled, ackMode, queue.size(), queueCapacity,
+                accepted.get(), rejected.get(), written.get(), failed.get(), flushes,
+                toMillis(lastFlushNanos), toMillis(maxFlushNanos),
+                flushes == 0 ? 0 : toMillis(totalFlushNanos.get()) / flushes);
+    }
+
+    /**
+     * Waits for the flusher to write the entry. A comment that is not acknowledged in time stays queued
+     * and may still be written, so the caller learns only that its outcome is unknown; a comment the
+     * database refused, because its user or event was deleted after it was accepted, is rejected.
+     */
+    private void awaitWritten(Entry entry) {
+        try {
+            entry.written.get(ackTimeoutMillis, MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataIntegrityViolationException) {
+                throw new CommentRejectedException("The user or event of the comment no longer exists", e.getCause());
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            throw new CommentWriteTimeoutException("Timed out waiting for comment to be written, it may still be");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommentWriteTimeoutException("Interrupted while waiting for comment to be written, it may still be");
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Entry> batch) throws InterruptedException {
+        Entry first = queue.poll(flushIntervalMillis, MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Entry next = queue.poll(remaining, NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        long start = System.nanoTime();
+        List<PendingComment> comments = batch.stream().map(entry -> entry.comment).collect(Collectors.toList());
+        try {
+            transactionTemplate.execute(status -> {
+                commentBatchRepository.insertAll(comments);
+                return null;
+            });
+            written.addAndGet(batch.size());
+            batch.forEach(entry -> entry.written.complete(null));
+        } catch (RuntimeException e) {
+            log.warn("Writing a batch of {} comments failed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+        long elapsed = System.nanoTime() - start;
+        batches.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        lastFlushNanos = elapsed;
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+    }
+
+    private void writeOne(Entry entry) {
+        try {
+            transactionTemplate.execute(status -> {
+                commentBatchRepository.insert(entry.comment);
+                return null;
+            });
+            written.incrementAndGet();
+            entry.written.complete(null);
+        } catch (RuntimeException e) {
+            log.error("Dropping comment of user {} for event {}", entry.comment.getUserId(), entry.comment.getEventId(), e);
+            failed.incrementAndGet();
+            entry.written.completeExceptionally(e);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Entry {
+        private final PendingComment comment;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        private Entry(PendingComment comment) {
+            this.comment = comment;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.service.eventservice.writebehind;
+
+public class WriteBehindStats {
+    private boolean enabled;
+    private AckMode ackMode;
+    private int queueDepth;
+    private int queueCapacity;
+    private long accepted;
+    private long rejected;
+    private long written;
+    private long failed;
+    private long batches;
+    private double lastFlushMillis;
+    private double maxFlushMillis;
+    private double averageFlushMillis;
+
+    public WriteBehindStats(boolean enabled, AckMode ackMode, int queueDepth, int queueCapacity,
+                            long accepted, long rejected, long written, long failed, long batches,
+                            double lastFlushMillis, double maxFlushMillis, double averageFlushMillis) {
+        this.enabled = enabled;
+        this.ackMode = ackMode;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.written = written;
+        this.failed = failed;
+        this.batches = batches;
+        this.lastFlushMillis = lastFlushMillis;
+        this.maxFlushMillis = maxFlushMillis;
+        this.averageFlushMillis = averageFlushMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AckMode getAckMode() {
+        return ackMode;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushMillis;
+    }
+
+    public double getAverageFlushMillis() {
+        return averageFlushMillis;
+    }
+}
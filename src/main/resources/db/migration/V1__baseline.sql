@@ -0,0 +1,67 @@
+-- Schema as previously maintained by ddl-auto=update. Every statement is guarded so that databases
+-- created by Hibernate, including ones from before the capacity, version and sequence changes, are
+-- brought up to date instead of rejected.
+
+create sequence if not exists event_seq start with 1 increment by 50;
+create sequence if not exists user_seq start with 1 increment by 50;
+create sequence if not exists organizer_seq start with 1 increment by 50;
+create sequence if not exists comment_seq start with 1 increment by 50;
+
+create table if not exists organizer (
+    id bigint not null,
+    email varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists user (
+    id bigint not null,
+    email varchar(255),
+    password varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+alter table user add column if not exists version bigint default 0 not null;
+
+create table if not exists event (
+    id bigint not null,
+    address varchar(255) not null,
+    date date not null,
+    name varchar(255) not null,
+    organizer_id bigint,
+    primary key (id)
+);
+alter table event add column if not exists capacity integer;
+alter table event add column if not exists seats_taken integer default 0 not null;
+alter table event add column if not exists version bigint default 0 not null;
+
+create table if not exists participation (
+    event_id bigint not null,
+    user_id bigint not null,
+    primary key (event_id, user_id)
+);
+
+create table if not exists comment (
+    id bigint not null,
+    contents varchar(255),
+    event_id bigint,
+    user_id bigint,
+    primary key (id)
+);
+
+alter table event add constraint if not exists UK_98o78shlrxg9jaj0l2wkgcsr0
+    unique (organizer_id);
+alter table event add constraint if not exists FKik6obgrxb8c6aakhf8fj7gs9h
+    foreign key (organizer_id) references organizer;
+alter table participation add constraint if not exists FKdwaykt3mmluwtoc97nq1c50x7
+    foreign key (event_id) references event;
+alter table participation add constraint if not exists FKfputwcduinudasn7es02c12ra
+    foreign key (user_id) references user;
+alter table comment add constraint if not exists FKhr48nopy5aorw0ta1ii704tpu
+    foreign key (event_id) references event;
+alter table comment add constraint if not exists FK8kcum44fvpupyw6f5baccx25c
+    foreign key (user_id) references user;
+
+create index if not exists idx_comment_event_id_id on comment (event_id, id);
+create index if not exists idx_comment_user_id_id on comment (user_id, id);
+create index if not exists idx_user_username on user (username);
@@ -0,0 +1,25 @@
+-- Indexes for the lookups in the repository package.
+
+-- Case-insensitive name and address lookups compare against upper-cased computed columns, so they
+-- can use an index instead of evaluating UPPER() on every row.
+alter table event add column if not exists name_upper varchar(255) as upper(name);
+alter table event add column if not exists address_upper varchar(255) as upper(address);
+create index if not exists idx_event_name_upper on event (name_upper);
+create index if not exists idx_event_address_upper on event (address_upper);
+
+-- findSummariesByDate, findSummariesByDateBetween and the (date, id) keyset pages.
+create index if not exists idx_event_date_id on event (date, id);
+-- findSummariesByNameAndAddressAndDate.
+create index if not exists idx_event_name_address_date on event (name, address, date);
+-- findByOrganizerId is served by the index of the unique constraint on event.organizer_id; the
+-- organizer join of the summary queries probes the organizer primary key.
+
+-- The primary key (event_id, user_id) serves participants of an event; this covers the reverse
+-- direction used by findByUsersId, findIdsByUsersId and findByEventsId without touching the table.
+create index if not exists idx_participation_user_id_event_id on participation (user_id, event_id);
+
+-- findByEventIdAndUserId.
+create index if not exists idx_comment_event_id_user_id on comment (event_id, user_id);
+
+-- OrganizerRepository.findByName.
+create index if not exists idx_organizer_name on organizer (name);
@@ -0,0 +1,98 @@
+package com.service.eventservice.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundedCacheTest {
+
+    private AtomicLong now = new AtomicLong();
+    private AtomicInteger loads = new AtomicInteger();
+    private BoundedCache<Integer, String> cache = new BoundedCache<>(2, 10, TimeUnit.NANOSECONDS, now::get);
+
+    @Test
+    public void shouldLoadOnceAndCountHitsAndMisses() {
+        //when
+        cache.getOrLoad(1, this::load);
+        String value = cache.getOrLoad(1, this::load);
+        //then
+        assertEquals("value1", value);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        //given
+        cache.getOrLoad(1, this::load);
+        cache.getOrLoad(2, this::load);
+        cache.getOrLoad(1, this::load);
+        //when
+        cache.getOrLoad(3, this::load);
+        cache.getOrLoad(1, this::load);
+        cache.getOrLoad(2, this::load);
+        //then
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.stats().getSize());
+    }
+
+    @Test
+    public void shouldReloadExpiredEntry() {
+        //given
+        cache.getOrLoad(1, this::load);
+        //when
+        now.addAndGet(10);
+        cache.getOrLoad(1, this::load);
+        //then
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void shouldNotStoreValueLoadedConcurrentlyWithInvalidation() {
+        //when
+        String value = cache.getOrLoad(1, key -> {
+            cache.invalidate(key);
+            return load(key);
+        });
+        cache.getOrLoad(1, this::load);
+        //then
+        assertEquals("value1", value);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldStoreValueLoadedConcurrentlyWithInvalidationOfOtherKey() {
+        //when
+        cache.getOrLoad(1, key -> {
+            cache.invalidate(2);
+            return load(key);
+        });
+        cache.getOrLoad(1, this::load);
+        //then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldKeepEntryThatStaysValid() {
+        //given
+        cache.getOrLoad(1, this::load);
+        //when
+        cache.invalidateUnless(1, "value1"::equals);
+        cache.getOrLoad(1, this::load);
+        cache.invalidateUnless(1, "other"::equals);
+        cache.getOrLoad(1, this::load);
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    private String load(Integer key) {
+        loads.incrementAndGet();
+        return "value" + key;
+    }
+}
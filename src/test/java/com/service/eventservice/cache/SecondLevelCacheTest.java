@@ -0,0 +1,84 @@
+package com.service.eventservice.cache;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.service.ParticipationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ParticipationService participationService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void shouldServeRepeatedUserLoadsFromTheCache() {
+        //given
+        User jack = userRepository.save(new User("password", "cached-jack", "jack@gmail.com"));
+        RegionStats before = secondLevelCache.stats().get(SecondLevelCache.USERS);
+        //when
+        userRepository.findById(jack.getId());
+        userRepository.findById(jack.getId());
+        //then
+        RegionStats after = secondLevelCache.stats().get(SecondLevelCache.USERS);
+        assertEquals(before.getHits() + 2, after.getHits());
+        assertEquals(before.getMisses(), after.getMisses());
+    }
+
+    @Test
+    public void shouldNotServeStaleParticipantsAfterParticipationChanges() {
+        //given
+        Event party = eventRepository.save(new Event("cached party", LocalDate.of(2019, 5, 1), "Wroclaw",
+                new Organizer("John", "john@gmail.com")));
+        User jack = userRepository.save(new User("password", "cached-jack2", "jack@gmail.com"));
+        User jill = userRepository.save(new User("password", "cached-jill", "jill@gmail.com"));
+        participationService.addUserToEvent(party.getId(), jack.getId());
+        assertEquals(1, participantCount(party.getId()));
+        RegionStats before = secondLevelCache.stats().get(SecondLevelCache.EVENT_PARTICIPANTS);
+        assertEquals(1, participantCount(party.getId()));
+        assertEquals(before.getHits() + 1, secondLevelCache.stats().get(SecondLevelCache.EVENT_PARTICIPANTS).getHits());
+        //when
+        participationService.addUserToEvent(party.getId(), jill.getId());
+        //then
+        assertEquals(2, participantCount(party.getId()));
+        participationService.deleteUserByUserIdFromEvent(party.getId(), jack.getId());
+        assertEquals(1, participantCount(party.getId()));
+    }
+
+    private int participantCount(long eventId) {
+        return transactionTemplate.execute(status ->
+                eventRepository.findById(eventId).orElseThrow(AssertionError::new).getUsers().size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.service.eventservice.cache;
+
+import com.service.eventservice.exception.EventNotFoundException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight<Integer, String> flight = new SingleFlight<>();
+    private ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private AtomicInteger loads = new AtomicInteger();
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        //given
+        List<Future<String>> results = startCallers(key -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return "value" + key;
+        });
+        //when
+        release.countDown();
+        //then
+        for (Future<String> result : results) {
+            assertEquals("value1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, flight.getCoalesced());
+    }
+
+    @Test
+    public void shouldPropagateLoaderExceptionToEveryWaitingCaller() throws Exception {
+        //given
+        List<Future<String>> results = startCallers(key -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            throw new EventNotFoundException("Event not found " + key);
+        });
+        //when
+        release.countDown();
+        //then
+        for (Future<String> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                fail("Expected the loader exception");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof EventNotFoundException);
+            }
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldStartFreshLoadAfterForget() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> flight.load(1, key -> {
+            started.countDown();
+            awaitRelease();
+            return "stale";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        //when
+        flight.forget(1);
+        String fresh = flight.load(1, key -> "fresh");
+        release.countDown();
+        //then
+        assertEquals("fresh", fresh);
+        assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    public void shouldLoadAgainOnceEarlierLoadCompleted() {
+        //when
+        flight.load(1, key -> "value" + loads.incrementAndGet());
+        String second = flight.load(1, key -> "value" + loads.incrementAndGet());
+        //then
+        assertEquals("value2", second);
+    }
+
+    private List<Future<String>> startCallers(Function<Integer, String> loader) throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.load(1, key -> {
+            leaderStarted.countDown();
+            return loader.apply(key);
+        })));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.load(1, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return results;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.cache.CacheStats;
+import com.service.eventservice.cache.CalendarCache;
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.cache.RegionStats;
+import com.service.eventservice.cache.SecondLevelCache;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = CacheController.class, secure = false)
+public class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EventCache eventCache;
+    @MockBean
+    private SecondLevelCache secondLevelCache;
+    @MockBean
+    private CalendarCache calendarCache;
+    private static final int OK_STATUS = 200;
+
+    @Test
+    public void shouldReturnCacheStatsAndStatus200() throws Exception {
+        //given
+        when(eventCache.stats()).thenReturn(Collections.singletonMap("eventsById", new CacheStats(3, 1, 0, 0, 1)));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/cache/stats")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+
+        //then
+        assertEquals(OK_STATUS, status);
+        assertTrue(contentAsString.contains("\"hitRate\":0.75"));
+    }
+
+    @Test
+    public void shouldReturnSecondLevelCacheStatsAndStatus200() throws Exception {
+        //given
+        when(secondLevelCache.stats()).thenReturn(Collections.singletonMap(SecondLevelCache.USERS, new RegionStats(1, 3, 3)));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/cache/second-level/stats")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertEquals("{\"users\":{\"hits\":1,\"misses\":3,\"puts\":3,\"hitRate\":0.25}}",
+                mvcResult.getResponse().getContentAsString());
+    }
+}
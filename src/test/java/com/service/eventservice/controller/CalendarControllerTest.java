@@ -0,0 +1,85 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.service.CalendarService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = CalendarController.class, secure = false)
+public class CalendarControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CalendarService calendarService;
+
+    private static final int OK_STATUS = 200;
+    private static final int BAD_REQUEST_STATUS = 400;
+
+    @Test
+    public void shouldReturnDayCountsOfMonthAndStatus200() throws Exception {
+        //given
+        CalendarDay day = new CalendarDay(LocalDate.of(2019, 1, 20), 2, Collections.singletonList("Rock Party"));
+        when(calendarService.month(YearMonth.of(2019, 1), 1)).thenReturn(Collections.singletonList(day));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/calendar/month?month=2019-01&top=1")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertTrue(contentAsString.contains("\"eventCount\":2"));
+        assertTrue(contentAsString.contains("\"topNames\":[\"Rock Party\"]"));
+    }
+
+    @Test
+    public void shouldReturnDayCountsOfWeekAndStatus200() throws Exception {
+        //given
+        CalendarDay day = new CalendarDay(LocalDate.of(2019, 1, 31), 1);
+        when(calendarService.week(LocalDate.of(2019, 2, 1), 0)).thenReturn(Collections.singletonList(day));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/calendar/week?date=2019-02-01")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("\"eventCount\":1"));
+    }
+
+    @Test
+    public void shouldReturnStatus400ForMalformedMonth() throws Exception {
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/calendar/month?month=january")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(BAD_REQUEST_STATUS, mvcResult.getResponse().getStatus());
+    }
+}
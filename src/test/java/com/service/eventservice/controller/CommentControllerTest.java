@@ -2,12 +2,20 @@ package com.service.eventservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.eventservice.exception.CommentNotFoundException;
+import com.service.eventservice.exception.CommentQueueFullException;
+import com.service.eventservice.exception.CommentRejectedException;
+import com.service.eventservice.exception.CommentWriteTimeoutException;
 import com.service.eventservice.exception.EventNotFoundException;
 import com.service.eventservice.exception.UserNotFoundException;
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.User;
 import com.service.eventservice.service.CommentService;
+import com.service.eventservice.writebehind.AckMode;
+import com.service.eventservice.writebehind.WriteBehindStats;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -22,6 +30,7 @@ import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -68,6 +77,93 @@ public class CommentControllerTest {
     }
 
 
+    @Test
+    public void shouldReturnStatus202WhenCommentIsOnlyQueued() throws Exception {
+        //given
+        when(commentService.createUserCommentForGivenEvent(comment, 1, 1)).thenReturn(comment);
+        when(commentService.isCreateAcknowledgedBeforeWrite()).thenReturn(true);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/comments/user/1/event/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(202, status);
+    }
+
+    @Test
+    public void shouldReturnStatus503WhenCommentQueueIsFull() throws Exception {
+        //given
+        when(commentService.createUserCommentForGivenEvent(comment, 1, 1)).thenThrow(CommentQueueFullException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/comments/user/1/event/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(503, status);
+    }
+
+    @Test
+    public void shouldReturnStatus504WhenCommentIsNotAcknowledgedInTime() throws Exception {
+        //given
+        when(commentService.createUserCommentForGivenEvent(comment, 1, 1)).thenThrow(CommentWriteTimeoutException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/comments/user/1/event/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(504, status);
+    }
+
+    @Test
+    public void shouldReturnStatus409WhenCommentIsRejectedOnWrite() throws Exception {
+        //given
+        when(commentService.createUserCommentForGivenEvent(comment, 1, 1)).thenThrow(CommentRejectedException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/comments/user/1/event/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(409, status);
+    }
+
+    @Test
+    public void shouldReturnWriteBehindStatsAndStatus200() throws Exception {
+        //given
+        WriteBehindStats stats = new WriteBehindStats(true, AckMode.ENQUEUE, 3, 100, 10, 1, 7, 0, 2, 1.5, 2.5, 2.0);
+        when(commentService.getWriteBehindStats()).thenReturn(stats);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/comments/write-behind/stats")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(OK_STATUS, status);
+        assertEquals(objectMapper.writeValueAsString(stats), mvcResult.getResponse().getContentAsString());
+    }
+
     @Test
     public void shouldReturnAllUsersCommentForGivenEventAndStatus200() throws Exception {
         //given
@@ -91,8 +187,10 @@ public class CommentControllerTest {
     @Test
     public void shouldReturnAllCommentsForGivenEventAndStatus200() throws Exception {
         //given
-        List<Comment> comments = Arrays.asList(comment, comment);
-        when(commentService.getAllCommentsForEvent(1)).thenReturn(comments);
+        CursorPage<CommentSummary> comments = new CursorPage<>(Arrays.asList(
+                new CommentSummary(2L, "Party hard", 1L, "username", 1L),
+                new CommentSummary(1L, "Party harder", 1L, "username", 1L)), "next");
+        when(commentService.getCommentsForEvent(1, null, 20)).thenReturn(comments);
         String jsonComments = objectMapper.writeValueAsString(comments);
 
         //when
@@ -111,13 +209,14 @@ public class CommentControllerTest {
     @Test
     public void shouldReturnAllCommentsForGivenUseAndStatus200() throws Exception {
         //given
-        List<Comment> comments = Arrays.asList(comment, comment);
-        when(commentService.getAllCommentsForUser(1)).thenReturn(comments);
+        CursorPage<CommentSummary> comments = new CursorPage<>(Collections.singletonList(
+                new CommentSummary(1L, "Party hard", 1L, "username", 1L)), null);
+        when(commentService.getCommentsForUser(1, "abc", 5)).thenReturn(comments);
         String jsonComments = objectMapper.writeValueAsString(comments);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders.
-                get("/user/1/comments")
+                get("/user/1/comments?cursor=abc&size=5")
                 .contentType(MediaType.APPLICATION_JSON);
         MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
         int status = mvcResult.getResponse().getStatus();
@@ -128,6 +227,23 @@ public class CommentControllerTest {
         assertEquals(jsonComments, contentAsString);
     }
 
+    @Test
+    public void shouldReturnCommentsByIdsAndStatus200() throws Exception {
+        //given
+        LookupResult<Comment> result = new LookupResult<>(Arrays.asList(comment, comment), Collections.emptyList());
+        when(commentService.findByIds(Arrays.asList(1L, 2L))).thenReturn(result);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.
+                get("/comments?ids=1,2")
+                .contentType(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertEquals(objectMapper.writeValueAsString(result), mvcResult.getResponse().getContentAsString());
+    }
+
     @Test
     public void shouldReturnCommentByIdAndStatus200() throws Exception {
         when(commentService.findById(1)).thenReturn(comment);
@@ -165,7 +281,7 @@ public class CommentControllerTest {
     @Test
     public void shouldReturnStatus404WhenEventDoesNotExist() throws Exception {
         //given
-        when(commentService.getAllCommentsForUser(1)).thenThrow(UserNotFoundException.class);
+        when(commentService.getCommentsForUser(1, null, 20)).thenThrow(UserNotFoundException.class);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders.
@@ -180,7 +296,7 @@ public class CommentControllerTest {
     @Test
     public void shouldReturnStatus404WhenUserDoesNotExist() throws Exception {
         //given
-        when(commentService.getAllCommentsForEvent(1)).thenThrow(EventNotFoundException.class);
+        when(commentService.getCommentsForEvent(1, null, 20)).thenThrow(EventNotFoundException.class);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders.
@@ -2,7 +2,14 @@ package com.service.eventservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.exception.PreconditionFailedException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.Organizer;
 import com.service.eventservice.service.EventService;
 import org.junit.Assert;
@@ -10,25 +17,39 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(value = EventController.class, secure = false)
+@ImportAutoConfiguration(SpringDataWebAutoConfiguration.class)
 public class EventControllerTest {
 
     @Autowired
@@ -38,8 +59,10 @@ public class EventControllerTest {
     private EventService eventService;
 
     private Event event;
+    private EventSummary summary;
     private static final int OK_STATUS = 200;
     private static final int NOT_FOUND_STATUS = 404;
+    private static final int BAD_REQUEST_STATUS = 400;
     private ObjectMapper objectMapper;
     private String dateAsString = "2019-01-01";
     private LocalDate date = LocalDate.parse(dateAsString, DateTimeFormatter.ISO_LOCAL_DATE);
@@ -47,14 +70,15 @@ public class EventControllerTest {
     @Before
     public void setUp() {
         event = new Event("party", date, "Wroclaw", new Organizer());
+        summary = new EventSummary(1L, "party", date, "Wroclaw", "John", 2);
         objectMapper = new ObjectMapper();
     }
 
     @Test
     public void shouldReturnAllEventsAndStatus200() throws Exception {
         //given
-        List<Event> events = Arrays.asList(event, event);
-        when(eventService.findAllEvents()).thenReturn(events);
+        List<EventSummary> events = Arrays.asList(summary, summary);
+        when(eventService.findEventsPage(null, 20)).thenReturn(new CursorPage<>(events, "next"));
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders
@@ -65,6 +89,122 @@ public class EventControllerTest {
 
         //then
         Assert.assertEquals(OK_STATUS, status);
+        Assert.assertTrue(mvcResult.getResponse().getContentAsString().contains("\"nextCursor\":\"next\""));
+    }
+
+    @Test
+    public void shouldReturnStatus400WhenCursorIsInvalid() throws Exception {
+        //given
+        when(eventService.findEventsPage("broken", 10)).thenThrow(InvalidRequestException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events?cursor=broken&size=10")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        Assert.assertEquals(BAD_REQUEST_STATUS, status);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldExportEventsAsNewlineDelimitedJson() throws Exception {
+        //given
+        doAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(0);
+            consumer.accept(event);
+            consumer.accept(event);
+            return null;
+        }).when(eventService).exportEvents(any(Consumer.class));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/export")
+                .accept("application/x-ndjson");
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+
+        //then
+        Assert.assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        Assert.assertEquals(2, lines.length);
+        Assert.assertTrue(lines[0].contains("\"name\":\"party\""));
+    }
+
+    @Test
+    public void shouldReturnEventsByIdsWithMissingIdsAndStatus200() throws Exception {
+        //given
+        LookupResult<Event> result = new LookupResult<>(Collections.singletonList(event), Collections.singletonList(7L));
+        when(eventService.findByIds(Arrays.asList(3L, 7L))).thenReturn(result);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events?ids=3,7")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        Assert.assertTrue(mvcResult.getResponse().getContentAsString().contains("\"name\":\"party\""));
+        Assert.assertTrue(mvcResult.getResponse().getContentAsString().endsWith("\"missingIds\":[7]}"));
+    }
+
+    @Test
+    public void shouldImportCsvBodyAndReturnReport() throws Exception {
+        //given
+        ImportReport report = new ImportReport();
+        report.rowReceived();
+        report.rowsImported(1);
+        when(eventService.importEvents(any(InputStream.class), argThat(type -> type.isCompatibleWith(MediaType.parseMediaType("text/csv")))))
+                .thenReturn(report);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/events/import")
+                .contentType("text/csv")
+                .content("name,date,address\nparty,2019-01-01,Wroclaw\n");
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        Assert.assertEquals(objectMapper.writeValueAsString(report), mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void shouldReturnStatus415WhenImportFormatIsUnsupported() throws Exception {
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/events/import")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<events/>");
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(415, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    public void shouldBindSearchCriteriaAndPagingAndReturnStatus200() throws Exception {
+        //given
+        when(eventService.searchEvents(
+                argThat((EventSearchCriteria criteria) -> "jazz".equals(criteria.getName())
+                        && "Main".equals(criteria.getAddress())
+                        && date.equals(criteria.getStartDate())
+                        && criteria.getEndDate() == null),
+                argThat((Pageable pageable) -> pageable.getPageNumber() == 1 && pageable.getPageSize() == 5
+                        && pageable.getSort().getOrderFor("name") != null)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(summary)));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/search?name=jazz&address=Main&startDate=2019-01-01&page=1&size=5&sort=name,desc")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        Assert.assertTrue(mvcResult.getResponse().getContentAsString().contains("\"name\":\"party\""));
     }
 
     @Test
@@ -81,6 +221,7 @@ public class EventControllerTest {
 
         //then
         Assert.assertEquals(OK_STATUS, status);
+        Assert.assertEquals("\"0\"", mvcResult.getResponse().getHeader("ETag"));
     }
 
     @Test
@@ -102,7 +243,7 @@ public class EventControllerTest {
     @Test
     public void shouldReturnEventsByNameAndStatus200() throws Exception {
         //given
-        List<Event> events = Arrays.asList(event, event);
+        List<EventSummary> events = Arrays.asList(summary, summary);
         when(eventService.findByName("party")).thenReturn(events);
 
         //when
@@ -110,15 +251,18 @@ public class EventControllerTest {
                 .accept(MediaType.APPLICATION_JSON);
         MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
         int status = mvcResult.getResponse().getStatus();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
 
         //then
         Assert.assertEquals(OK_STATUS, status);
+        Assert.assertTrue(contentAsString.contains("\"participantCount\":2"));
+        Assert.assertFalse(contentAsString.contains("\"users\""));
     }
 
     @Test
     public void shouldReturnEventsByAddressAndStatus200() throws Exception {
         //given
-        List<Event> events = Arrays.asList(event, event);
+        List<EventSummary> events = Arrays.asList(summary, summary);
         when(eventService.findByAddress("Wroclaw")).thenReturn(events);
 
         //when
@@ -166,7 +310,7 @@ public class EventControllerTest {
         //given
         String dateAsString = "2019-01-01";
         LocalDate date = LocalDate.parse(dateAsString);
-        List<Event> events = Arrays.asList(event, event);
+        List<EventSummary> events = Arrays.asList(summary, summary);
         when(eventService.findByDate(date)).thenReturn(events);
 
         //when
@@ -218,7 +362,7 @@ public class EventControllerTest {
     @Test
     public void shouldReturnUpdatedEventAndStatus200() throws Exception {
         //given
-        when(eventService.updateEvent(event, 1)).thenReturn(event);
+        when(eventService.updateEvent(any(Event.class), eq(1L), isNull())).thenReturn(event);
         String expectedEvent = objectMapper.writeValueAsString(new Event());
 
         //when
@@ -233,10 +377,90 @@ public class EventControllerTest {
         Assert.assertEquals(OK_STATUS, status);
     }
 
+    @Test
+    public void shouldTellOmittedCapacityFromExplicitNullOnUpdate() throws Exception {
+        //given
+        when(eventService.updateEvent(any(Event.class), eq(1L), isNull())).thenReturn(event);
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.put("/events/1").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"gig\",\"date\":\"2019-06-01\",\"address\":\"Wroclaw\"}"));
+        mockMvc.perform(MockMvcRequestBuilders.put("/events/1").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"gig!\",\"date\":\"2019-06-01\",\"address\":\"Wroclaw\",\"capacity\":null}"));
+        //then
+        verify(eventService).updateEvent(argThat(body -> "gig".equals(body.getName()) && !body.isCapacitySet()), eq(1L), isNull());
+        verify(eventService).updateEvent(argThat(body -> "gig!".equals(body.getName()) && body.isCapacitySet()), eq(1L), isNull());
+    }
+
+    @Test
+    public void shouldPassIfMatchVersionToUpdateAndReturnNewETag() throws Exception {
+        //given
+        when(eventService.updateEvent(any(Event.class), eq(1L), eq(3L))).thenReturn(event);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .put("/events/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event()));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        Assert.assertEquals("\"0\"", mvcResult.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    public void shouldReturnStatus412WhenIfMatchIsStale() throws Exception {
+        //given
+        when(eventService.updateEvent(any(Event.class), eq(1L), eq(2L))).thenThrow(PreconditionFailedException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .put("/events/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event()));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(412, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    public void shouldReturnStatus412ForWeakIfMatch() throws Exception {
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .put("/events/1")
+                .header("If-Match", "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event()));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(412, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    public void shouldReturnStatus409WhenUpdateKeepsConflicting() throws Exception {
+        //given
+        when(eventService.updateEvent(any(Event.class), eq(1L), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Event.class, 1L));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .put("/events/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event()));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        Assert.assertEquals(409, mvcResult.getResponse().getStatus());
+    }
+
     @Test
     public void shouldReturnStatus404WhenEventByIdDoNotExistDuringUpdating() throws Exception {
         //given
-        when(eventService.updateEvent(new Event(), 1)).thenThrow(EventNotFoundException.class);
+        when(eventService.updateEvent(any(Event.class), eq(1L), isNull())).thenThrow(EventNotFoundException.class);
         String expectedEvent = objectMapper.writeValueAsString(new Event());
 
         //when
@@ -0,0 +1,121 @@
+package com.service.eventservice.controller;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ScoredEvent;
+import com.service.eventservice.service.EventSearchService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = EventSearchController.class, secure = false)
+@ImportAutoConfiguration(SpringDataWebAutoConfiguration.class)
+public class EventSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EventSearchService eventSearchService;
+
+    private static final int OK_STATUS = 200;
+    private static final int BAD_REQUEST_STATUS = 400;
+
+    @Test
+    public void shouldReturnRankedTextSearchResultsAndStatus200() throws Exception {
+        //given
+        ScoredEvent hit = new ScoredEvent(new EventSummary(1L, "Jazz Night", null, "Main Street 1", "John", 2), 3.5);
+        when(eventSearchService.searchText("jazz main st", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(hit), PageRequest.of(0, 10), 1));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/search/text?q=jazz main st&size=10")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertTrue(contentAsString.contains("\"name\":\"Jazz Night\""));
+        assertTrue(contentAsString.contains("\"score\":3.5"));
+        assertTrue(contentAsString.contains("\"totalElements\":1"));
+    }
+
+    @Test
+    public void shouldReturnFuzzySearchResultsAndStatus200() throws Exception {
+        //given
+        ScoredEvent hit = new ScoredEvent(new EventSummary(1L, "Halloween Party", null, "Main Street 1", "John", 2), 1.5);
+        when(eventSearchService.searchFuzzy("Hallowen party", PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(hit), PageRequest.of(0, 20), 1));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/search/fuzzy?q=Hallowen party")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertTrue(contentAsString.contains("\"name\":\"Halloween Party\""));
+        assertTrue(contentAsString.contains("\"score\":1.5"));
+    }
+
+    @Test
+    public void shouldReturnStatus400ForBlankQuery() throws Exception {
+        //given
+        when(eventSearchService.searchText(eq(" "), any())).thenThrow(InvalidRequestException.class);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/search/text?q= ")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(BAD_REQUEST_STATUS, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    public void shouldReturnCompletionsAndStatus200() throws Exception {
+        //given
+        Completion completion = new Completion("Jazz Night", Completion.Field.NAME, 1L, 2, null);
+        when(eventSearchService.autocomplete("jaz", 5)).thenReturn(Collections.singletonList(completion));
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get("/events/autocomplete?prefix=jaz&limit=5")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+
+        //then
+        assertEquals(OK_STATUS, mvcResult.getResponse().getStatus());
+        assertTrue(contentAsString.contains("\"text\":\"Jazz Night\""));
+        assertTrue(contentAsString.contains("\"field\":\"NAME\""));
+        assertTrue(contentAsString.contains("\"eventId\":1"));
+    }
+}
@@ -3,9 +3,12 @@ package com.service.eventservice.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.eventservice.exception.EventNotFoundException;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
 import com.service.eventservice.model.Organizer;
-import com.service.eventservice.model.User;
+import com.service.eventservice.model.ParticipationOutcome;
+import com.service.eventservice.model.UserSummary;
 import com.service.eventservice.service.ParticipationService;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,9 +24,9 @@ import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
@@ -38,26 +41,27 @@ public class ParticipationControllerTest {
     private ParticipationService participationService;
     private ObjectMapper objectMapper = new ObjectMapper();
     private Event event;
-    private User user;
+    private EventSummary summary;
     private static final int OK_STATUS = 200;
     private static final int NOT_FOUND_STATUS = 404;
 
     @Before
     public void setUp() {
-        user = new User("password", "username", "m2@gmail.com");
         event = new Event("party", LocalDate.now(), "Wroclaw", new Organizer());
+        summary = new EventSummary(1L, "party", LocalDate.now(), "Wroclaw", "John", 1);
     }
 
     @Test
     public void shouldReturnUsersByEventIdAndStatus200() throws Exception {
         //given
-        Set<User> users = Collections.singleton(user);
-        when(participationService.findByEventId(1)).thenReturn(users);
+        CursorPage<UserSummary> users = new CursorPage<>(
+                Collections.singletonList(new UserSummary(1L, "username", "m2@gmail.com")), "next", 21L);
+        when(participationService.findParticipants(1, "abc", 20)).thenReturn(users);
         String jsonUsers = objectMapper.writeValueAsString(users);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders
-                .get("/events/1/users")
+                .get("/events/1/users?cursor=abc")
                 .accept(MediaType.APPLICATION_JSON);
         MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
         int status = mvcResult.getResponse().getStatus();
@@ -71,7 +75,7 @@ public class ParticipationControllerTest {
     @Test
     public void shouldReturnStatus404WhenEventDoesNotExist() throws Exception {
         //given
-        when(participationService.findByEventId(1)).thenThrow(EventNotFoundException.class);
+        when(participationService.findParticipants(1, null, 20)).thenThrow(EventNotFoundException.class);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders
@@ -122,7 +126,7 @@ public class ParticipationControllerTest {
     public void shouldReturnCreatedEventAndStatus201() throws Exception {
         //given
         int createdStatus = 201;
-        when(participationService.addUserToEvent(1, 1)).thenReturn(event);
+        when(participationService.addUserToEvent(1, 1)).thenReturn(summary);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders
@@ -138,7 +142,7 @@ public class ParticipationControllerTest {
     @Test
     public void shouldReturnDeletedEventAndStatus200() throws Exception {
         //given
-        when(participationService.addUserToEvent(1, 1)).thenReturn(event);
+        when(participationService.deleteUserByUserIdFromEvent(1, 1)).thenReturn(summary);
 
         //when
         RequestBuilder requestBuilder = MockMvcRequestBuilders
@@ -150,4 +154,47 @@ public class ParticipationControllerTest {
         //then
         assertEquals(OK_STATUS, status);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnOutcomePerUserForBatchInsertAndStatus200() throws Exception {
+        //given
+        List<ParticipationOutcome> outcomes = Arrays.asList(
+                new ParticipationOutcome(1L, ParticipationOutcome.Status.ADDED),
+                new ParticipationOutcome(2L, ParticipationOutcome.Status.USER_NOT_FOUND));
+        when(participationService.addUsersToEvent(1, Arrays.asList(1L, 2L))).thenReturn(outcomes);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/events/1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(OK_STATUS, status);
+        assertEquals(objectMapper.writeValueAsString(outcomes), mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void shouldReturnOutcomePerUserForBatchDeleteAndStatus200() throws Exception {
+        //given
+        List<ParticipationOutcome> outcomes = Collections.singletonList(
+                new ParticipationOutcome(1L, ParticipationOutcome.Status.REMOVED));
+        when(participationService.deleteUsersFromEvent(1, Collections.singletonList(1L))).thenReturn(outcomes);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .delete("/events/1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1]")
+                .accept(MediaType.APPLICATION_JSON);
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        int status = mvcResult.getResponse().getStatus();
+
+        //then
+        assertEquals(OK_STATUS, status);
+        assertEquals(objectMapper.writeValueAsString(outcomes), mvcResult.getResponse().getContentAsString());
+    }
+}
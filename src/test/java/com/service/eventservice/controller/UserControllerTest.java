@@ -2,6 +2,7 @@ package com.service.eventservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.ImportReport;
 import com.service.eventservice.model.User;
 import com.service.eventservice.service.UserServiceImpl;
 import org.junit.Test;
@@ -16,11 +17,14 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -149,7 +153,7 @@ public class UserControllerTest {
         String expectedUser = objectMapper.writeValueAsString(updatedUser);
 
         //when
-        when(userService.updateUser(user, 1)).thenReturn(user);
+        when(userService.updateUser(any(User.class), eq(1L), isNull())).thenReturn(user);
         RequestBuilder requestBuilder = MockMvcRequestBuilders
                 .put("/users/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -161,6 +165,26 @@ public class UserControllerTest {
         assertEquals(STATUS_OK, status);
     }
 
+    @Test
+    public void shouldImportNewlineDelimitedJsonUsersAndReturnSummary() throws Exception {
+        //given
+        ImportReport report = new ImportReport();
+        report.rowReceived();
+        report.rowFailed(1, "Username macole7 already exists");
+        when(userService.importUsers(any(InputStream.class), any(MediaType.class))).thenReturn(report);
+
+        //when
+        RequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post("/users/import")
+                .contentType("application/x-ndjson")
+                .content("{\"username\":\"macole7\",\"email\":\"m.olejnik@gmail.com\"}\n");
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        //then
+        assertEquals(STATUS_OK, mvcResult.getResponse().getStatus());
+        assertEquals(objectMapper.writeValueAsString(report), mvcResult.getResponse().getContentAsString());
+    }
+
     private List<User> generateListOfPeople() {
         return Arrays.asList(
                 new User("maciek10", "macole7", "m.olejnik@gmail.com"),
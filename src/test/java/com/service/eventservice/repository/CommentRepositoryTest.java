@@ -0,0 +1,116 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.PendingComment;
+import com.service.eventservice.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(CommentBatchRepository.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CommentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CommentBatchRepository commentBatchRepository;
+
+    private Event party;
+    private User jack;
+    private Comment first;
+    private Comment second;
+    private Comment third;
+
+    @Before
+    public void setUp() {
+        jack = entityManager.persist(new User("password", "jack", "jack@gmail.com"));
+        User jill = entityManager.persist(new User("password", "jill", "jill@gmail.com"));
+        party = entityManager.persist(new Event("party", LocalDate.of(2019, 1, 1), "Wroclaw",
+                new Organizer("John", "john@gmail.com")));
+        Event concert = entityManager.persist(new Event("concert", LocalDate.of(2019, 2, 1), "Krakow",
+                new Organizer("Jane", "jane@gmail.com")));
+        first = entityManager.persist(new Comment("first", jack, party));
+        second = entityManager.persist(new Comment("second", jill, party));
+        entityManager.persist(new Comment("elsewhere", jill, concert));
+        third = entityManager.persist(new Comment("third", jack, party));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldPageEventCommentsNewestFirstInOneStatement() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        List<CommentSummary> firstPage = commentRepository
+                .findSummariesByEventIdBefore(party.getId(), Long.MAX_VALUE, PageRequest.of(0, 2));
+        List<CommentSummary> secondPage = commentRepository
+                .findSummariesByEventIdBefore(party.getId(), firstPage.get(1).getId(), PageRequest.of(0, 2));
+        //then
+        assertEquals(Arrays.asList(
+                new CommentSummary(third.getId(), "third", jack.getId(), "jack", party.getId()),
+                new CommentSummary(second.getId(), "second", second.getUser().getId(), "jill", party.getId())), firstPage);
+        assertEquals(Collections.singletonList(
+                new CommentSummary(first.getId(), "first", jack.getId(), "jack", party.getId())), secondPage);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldPageUserCommentsNewestFirst() {
+        //when
+        List<CommentSummary> comments = commentRepository
+                .findSummariesByUserIdBefore(jack.getId(), third.getId(), PageRequest.of(0, 20));
+        //then
+        assertEquals(Collections.singletonList(
+                new CommentSummary(first.getId(), "first", jack.getId(), "jack", party.getId())), comments);
+    }
+
+    @Test
+    public void shouldInsertPendingCommentsInJdbcBatches() {
+        //given
+        List<PendingComment> pending = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            pending.add(new PendingComment("comment " + i, jack.getId(), party.getId()));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        commentBatchRepository.insertAll(pending);
+        //then
+        assertTrue(statistics.getPrepareStatementCount() <= 6);
+        List<CommentSummary> newest = commentRepository
+                .findSummariesByEventIdBefore(party.getId(), Long.MAX_VALUE, PageRequest.of(0, 2));
+        assertEquals("comment 119", newest.get(0).getContents());
+        assertEquals("comment 118", newest.get(1).getContents());
+    }
+}
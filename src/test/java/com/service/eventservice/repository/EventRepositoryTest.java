@@ -0,0 +1,282 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EventRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Organizer john;
+    private Event jazz;
+    private User jack;
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        john = new Organizer("John", "john@gmail.com");
+        jazz = new Event("Jazz Night", LocalDate.of(2019, 1, 10), "Main Street 1", john);
+        jack = entityManager.persist(new User("password", "jack", "jack@gmail.com"));
+        User jill = entityManager.persist(new User("password", "jill", "jill@gmail.com"));
+        jazz.getUsers().add(jack);
+        jazz.getUsers().add(jill);
+        entityManager.persist(jazz);
+        entityManager.persist(new Event("Jazz Brunch", LocalDate.of(2019, 2, 3), "Market Square", new Organizer("Ann", "ann@gmail.com")));
+        Event rock = new Event("Rock Party", LocalDate.of(2019, 1, 20), "Main Street 5", new Organizer("Bob", "bob@gmail.com"));
+        rock.getUsers().add(jack);
+        entityManager.persist(rock);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void shouldBatchInsertsOfNewEventsAndOrganizers() {
+        //given
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new Event("Event " + i, LocalDate.of(2019, 3, 1), "Wroclaw", new Organizer("Organizer " + i, "o" + i + "@gmail.com")));
+        }
+        //when
+        eventRepository.saveAll(events);
+        entityManager.flush();
+        //then
+        assertEquals(200, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10);
+    }
+
+    @Test
+    public void shouldLoadEventWithOrganizerAndParticipantsInOneStatement() {
+        //when
+        Event event = eventRepository.findWithOrganizerAndUsersById(jazz.getId()).orElseThrow(AssertionError::new);
+        new HashSet<>(event.getUsers());
+        //then
+        assertEquals("John", event.getOrganizer().getName());
+        assertEquals(2, event.getUsers().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldLoadEventsByIdsWithOrganizersAndParticipantsInOneStatement() {
+        //given
+        List<Long> ids = eventRepository.findAll().stream().map(Event::getId).collect(Collectors.toList());
+        statistics.clear();
+        //when
+        List<Event> events = eventRepository.findDistinctWithOrganizerAndUsersByIdIn(ids);
+        events.forEach(event -> new HashSet<>(event.getUsers()));
+        events.forEach(event -> event.getOrganizer().getName());
+        //then
+        assertEquals(3, events.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldLoadExportBlockInIdOrderInTwoStatements() {
+        //when
+        List<Long> ids = eventRepository.findIdsAfter(Long.MIN_VALUE, PageRequest.of(0, 2));
+        List<Event> events = eventRepository.findDistinctWithOrganizerAndUsersByIdInOrderByIdAsc(ids);
+        events.forEach(event -> new HashSet<>(event.getUsers()));
+        events.forEach(event -> event.getOrganizer().getName());
+        List<Long> rest = eventRepository.findIdsAfter(ids.get(1), PageRequest.of(0, 2));
+        //then
+        assertEquals(ids, events.stream().map(Event::getId).collect(Collectors.toList()));
+        assertTrue(ids.get(0) < ids.get(1));
+        assertEquals(1, rest.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldLoadEventsOfParticipantInOneStatement() {
+        //when
+        List<Event> events = eventRepository.findByUsersId(jack.getId());
+        events.forEach(event -> new HashSet<>(event.getUsers()));
+        events.forEach(Event::getOrganizer);
+        //then
+        assertEquals(2, events.size());
+        assertEquals(3, events.stream().mapToInt(event -> event.getUsers().size()).sum());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldLoadEventOfOrganizerInOneStatement() {
+        //when
+        Event event = eventRepository.findByOrganizerId(john.getId());
+        new HashSet<>(event.getUsers());
+        //then
+        assertEquals("Jazz Night", event.getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldCountParticipantsOfSummariesInOneStatement() {
+        //when
+        List<EventSummary> summaries = eventRepository.findSummariesByDateBetween(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31));
+        //then
+        assertEquals(3, summaries.size());
+        assertEquals(Arrays.asList(2L, 1L, 0L), summaries.stream().map(EventSummary::getParticipantCount).collect(Collectors.toList()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldReadOnlyTheEventsOfAPageWhateverTheTableSize() {
+        //given
+        User fan = entityManager.persist(new User("password", "fan", "fan@gmail.com"));
+        for (int i = 0; i < 500; i++) {
+            Event event = new Event("Event " + i, LocalDate.of(2020, 1, 1).plusDays(i % 100), "Wroclaw", null);
+            event.getUsers().add(fan);
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        //when
+        int firstPage = scannedEvents("findSummaryPage");
+        int middlePage = scannedEvents("findSummaryPageAfter", "DATE '2020-02-15'", "DATE '2020-02-15'", "0");
+        //then
+        assertTrue(firstPage <= 21);
+        assertTrue(middlePage <= 21);
+    }
+
+    @Test
+    public void shouldCountEventsPerDayAndRankThemByParticipants() {
+        //given
+        entityManager.persist(new Event("Opera", LocalDate.of(2019, 1, 20), "Main Street 9", new Organizer("Eve", "eve@gmail.com")));
+        entityManager.flush();
+        statistics.clear();
+        //when
+        List<CalendarDay> days = eventRepository.countByDateBetween(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 31));
+        List<EventSummary> ranked = eventRepository.findByDateMostAttendedFirst(LocalDate.of(2019, 1, 20), PageRequest.of(0, 5));
+        List<EventSummary> first = eventRepository.findByDateMostAttendedFirst(LocalDate.of(2019, 1, 20), PageRequest.of(0, 1));
+        //then
+        assertEquals(Arrays.asList(new CalendarDay(LocalDate.of(2019, 1, 10), 1), new CalendarDay(LocalDate.of(2019, 1, 20), 2)), days);
+        assertEquals(Arrays.asList("Rock Party", "Opera"), names(ranked));
+        assertEquals(Collections.singletonList("Rock Party"), names(first));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldFindSummariesByNameAndAddressIgnoringCase() {
+        //when
+        List<EventSummary> byName = eventRepository.findSummariesByName("jazz NIGHT");
+        List<EventSummary> byAddress = eventRepository.findSummariesByAddress("market square");
+        //then
+        assertEquals(names(byName), Collections.singletonList("Jazz Night"));
+        assertEquals(names(byAddress), Collections.singletonList("Jazz Brunch"));
+    }
+
+    @Test
+    public void shouldCombineNameAddressAndDateRangeInSearch() {
+        //given
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setName("jazz");
+        criteria.setAddress("main st");
+        criteria.setStartDate(LocalDate.of(2019, 1, 1));
+        criteria.setEndDate(LocalDate.of(2019, 1, 31));
+        //when
+        Page<EventSummary> page = eventRepository.search(criteria, PageRequest.of(0, 10));
+        //then
+        assertEquals(1, page.getTotalElements());
+        EventSummary summary = page.getContent().get(0);
+        assertEquals("Jazz Night", summary.getName());
+        assertEquals("John", summary.getOrganizerName());
+        assertEquals(2, summary.getParticipantCount());
+    }
+
+    @Test
+    public void shouldFilterByOrganizerInSearch() {
+        //given
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setOrganizerId(john.getId());
+        //when
+        Page<EventSummary> page = eventRepository.search(criteria, PageRequest.of(0, 10));
+        //then
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Jazz Night", page.getContent().get(0).getName());
+    }
+
+    @Test
+    public void shouldPageAndSortSearchResults() {
+        //given
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        //when
+        Page<EventSummary> firstPage = eventRepository.search(criteria, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "participantCount", "name")));
+        Page<EventSummary> secondPage = eventRepository.search(criteria, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "participantCount", "name")));
+        //then
+        assertEquals(3, firstPage.getTotalElements());
+        assertEquals(2, firstPage.getTotalPages());
+        assertEquals(names(firstPage.getContent()), Arrays.asList("Jazz Night", "Rock Party"));
+        assertEquals(1, firstPage.getContent().get(1).getParticipantCount());
+        assertEquals(names(secondPage.getContent()), Collections.singletonList("Jazz Brunch"));
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectUnknownSortPropertyInSearch() {
+        eventRepository.search(new EventSearchCriteria(), PageRequest.of(0, 10, Sort.by("password")));
+    }
+
+    private List<String> names(List<EventSummary> summaries) {
+        return summaries.stream().map(EventSummary::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Rows of the event table H2 reads for a page of 20 of the given summary query, with its parameters
+     * given as SQL literals in order.
+     */
+    private int scannedEvents(String method, String... parameters) {
+        String hql = Arrays.stream(EventRepository.class.getMethods())
+                .filter(candidate -> candidate.getName().equals(method))
+                .findFirst().orElseThrow(AssertionError::new)
+                .getAnnotation(Query.class).value();
+        String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getQueryPlanCache()
+                .getHQLQueryPlan(hql, false, Collections.emptyMap()).getSqlStrings()[0];
+        for (String parameter : parameters) {
+            sql = sql.replaceFirst("\\?", parameter);
+        }
+        String plan = (String) entityManager.getEntityManager()
+                .createNativeQuery("explain analyze " + sql + " limit 20").getSingleResult();
+        Matcher scanned = Pattern.compile("FROM PUBLIC\\.EVENT \\w+\\s+/\\*[^*]*\\*/\\s+(?:/\\*(?:(?!scanCount)[^*])*\\*/\\s+)*/\\* scanCount: (\\d+)").matcher(plan);
+        assertTrue(plan, scanned.find());
+        return Integer.parseInt(scanned.group(1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import com.service.eventservice.model.UserSummary;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class ParticipationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventRepository eventRepository;
+
+    private ParticipationRepository participationRepository;
+    private Event party;
+    private User jack;
+
+    @Before
+    public void setUp() {
+        participationRepository = new ParticipationRepository(jdbcTemplate);
+        jack = entityManager.persist(new User("password", "jack", "jack@gmail.com"));
+        party = entityManager.persist(new Event("party", LocalDate.of(2019, 1, 1), "Wroclaw",
+                new Organizer("John", "john@gmail.com")));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldInsertParticipationOnlyOnce() {
+        //when
+        boolean first = participationRepository.add(party.getId(), jack.getId());
+        boolean second = participationRepository.add(party.getId(), jack.getId());
+        //then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, eventRepository.findSummaryById(party.getId()).get().getParticipantCount());
+        assertEquals(1, eventRepository.findWithOrganizerAndUsersById(party.getId()).get().getUsers().size());
+    }
+
+    @Test
+    public void shouldRemoveParticipation() {
+        //given
+        participationRepository.add(party.getId(), jack.getId());
+        //when
+        boolean removed = participationRepository.remove(party.getId(), jack.getId());
+        boolean removedAgain = participationRepository.remove(party.getId(), jack.getId());
+        //then
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertEquals(0, eventRepository.findSummaryById(party.getId()).get().getParticipantCount());
+    }
+
+    @Test
+    public void shouldBatchInsertAndRemoveParticipations() {
+        //given
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            userIds.add(entityManager.persist(new User("password", "user" + i, "user" + i + "@gmail.com")).getId());
+        }
+        entityManager.flush();
+        participationRepository.add(party.getId(), userIds.get(0));
+        //when
+        int[] added = participationRepository.addAll(party.getId(), userIds);
+        int[] removed = participationRepository.removeAll(party.getId(), userIds.subList(0, 100));
+        //then
+        assertEquals(0, added[0]);
+        assertEquals(499, IntStream.of(added).sum());
+        assertEquals(100, IntStream.of(removed).sum());
+        assertEquals(400, eventRepository.findSummaryById(party.getId()).get().getParticipantCount());
+    }
+
+    @Test
+    public void shouldPageParticipantsByUserId() {
+        //given
+        User jill = entityManager.persist(new User("password", "jill", "jill@gmail.com"));
+        User joe = entityManager.persist(new User("password", "joe", "joe@gmail.com"));
+        entityManager.flush();
+        participationRepository.addAll(party.getId(), Arrays.asList(joe.getId(), jack.getId(), jill.getId()));
+        //when
+        List<UserSummary> firstPage = participationRepository.findParticipantsAfter(party.getId(), Long.MIN_VALUE, 2);
+        List<UserSummary> secondPage = participationRepository.findParticipantsAfter(party.getId(), firstPage.get(1).getId(), 2);
+        //then
+        assertEquals(Arrays.asList(
+                new UserSummary(jack.getId(), "jack", "jack@gmail.com"),
+                new UserSummary(jill.getId(), "jill", "jill@gmail.com")), firstPage);
+        assertEquals(Collections.singletonList(new UserSummary(joe.getId(), "joe", "joe@gmail.com")), secondPage);
+        assertEquals(3, participationRepository.countParticipants(party.getId()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.service.eventservice.repository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(SequenceAligner.class)
+public class SequenceAlignerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SequenceAligner sequenceAligner;
+
+    @Test
+    public void shouldMoveSequencePastIdsWrittenByIdentityColumns() {
+        //given
+        jdbcTemplate.update("insert into organizer (id, name, email) values (100000, 'Legacy', 'legacy@gmail.com')");
+        //when
+        sequenceAligner.align("organizer_seq", "organizer");
+        //then
+        Long next = jdbcTemplate.queryForObject("select next value for organizer_seq", Long.class);
+        assertTrue(next > 100000);
+    }
+}
@@ -0,0 +1,69 @@
+package com.service.eventservice.repository;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void shouldFindParticipantsOfEventThroughParticipationInOneStatement() {
+        //given
+        User jack = entityManager.persist(new User("password", "jack", "jack@gmail.com"));
+        User jill = entityManager.persist(new User("password", "jill", "jill@gmail.com"));
+        entityManager.persist(new User("password", "joe", "joe@gmail.com"));
+        Event party = new Event("party", LocalDate.of(2019, 1, 1), "Wroclaw", new Organizer("John", "john@gmail.com"));
+        party.getUsers().add(jack);
+        party.getUsers().add(jill);
+        entityManager.persist(party);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        List<User> participants = userRepository.findByEventsId(party.getId());
+        new HashSet<>(participants);
+        //then
+        assertEquals(2, participants.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldFindOnlyUsernamesThatAlreadyExist() {
+        //given
+        entityManager.persist(new User("password", "jack", "jack@gmail.com"));
+        entityManager.persist(new User("password", "jill", "jill@gmail.com"));
+        entityManager.flush();
+        //when
+        List<String> existing = userRepository.findExistingUsernames(Arrays.asList("jack", "joe", "jill"));
+        //then
+        assertEquals(new HashSet<>(Arrays.asList("jack", "jill")), new HashSet<>(existing));
+    }
+}
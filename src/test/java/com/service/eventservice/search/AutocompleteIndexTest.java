@@ -0,0 +1,160 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.Completion;
+import com.service.eventservice.model.EventSummary;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AutocompleteIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2019, 1, 1);
+
+    private AutocompleteIndex index;
+
+    @Before
+    public void setUp() {
+        index = new AutocompleteIndex(Clock.fixed(Instant.parse("2019-01-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    public void shouldCompleteAnyWordOfNamesAndAddressesByParticipantCount() {
+        //given
+        index.eventSaved(null, event(1L, "Jazz Night", "Main Street 1", TODAY, 2));
+        index.eventSaved(null, event(2L, "Nightwish Concert", "Market Square", TODAY, 5));
+        index.eventSaved(null, event(3L, "Rock Party", "Night Alley 3", TODAY, 1));
+        //when
+        List<Completion> completions = index.complete("NIG", 10);
+        //then
+        assertEquals(3, completions.size());
+        assertEquals(new Completion("Nightwish Concert", Completion.Field.NAME, 2L, 5, TODAY), completions.get(0));
+        assertEquals(new Completion("Jazz Night", Completion.Field.NAME, 1L, 2, TODAY), completions.get(1));
+        assertEquals(new Completion("Night Alley 3", Completion.Field.ADDRESS, 3L, 1, TODAY), completions.get(2));
+    }
+
+    @Test
+    public void shouldOfferUpcomingEventsBeforePastOnes() {
+        //given
+        index.eventSaved(null, event(1L, "Jazz Night", "Main Street 1", TODAY.minusDays(1), 50));
+        index.eventSaved(null, event(2L, "Jazz Brunch", "Main Street 1", TODAY.plusDays(7), 3));
+        //when
+        List<Completion> completions = index.complete("jazz", 10);
+        //then
+        assertEquals("Jazz Brunch", completions.get(0).getText());
+        assertEquals("Jazz Night", completions.get(1).getText());
+    }
+
+    @Test
+    public void shouldOfferSharedTextOnceForItsBestEvent() {
+        //given
+        index.eventSaved(null, event(1L, "Jazz Night", "Main Street 1", TODAY, 2));
+        index.eventSaved(null, event(2L, "Jazz Brunch", "main  street 1", TODAY, 7));
+        //when
+        List<Completion> completions = index.complete("main st", 10);
+        //then
+        assertEquals(1, completions.size());
+        assertEquals(new Completion("main  street 1", Completion.Field.ADDRESS, 2L, 7, TODAY), completions.get(0));
+    }
+
+    @Test
+    public void shouldFollowParticipantCountsRenamesAndDeletes() {
+        //given
+        EventSummary jazz = event(1L, "Jazz Night", "Main Street 1", TODAY, 2);
+        EventSummary brunch = event(2L, "Jazz Brunch", "Market Square", TODAY, 5);
+        index.eventSaved(null, jazz);
+        index.eventSaved(null, brunch);
+        //when
+        EventSummary popularJazz = event(1L, "Jazz Night", "Main Street 1", TODAY, 9);
+        index.eventSaved(jazz, popularJazz);
+        List<Completion> afterJoins = index.complete("jazz", 10);
+        EventSummary renamed = event(1L, "Blues Night", "Main Street 1", TODAY, 9);
+        index.eventSaved(popularJazz, renamed);
+        index.eventDeleted(brunch);
+        //then
+        assertEquals("Jazz Night", afterJoins.get(0).getText());
+        assertTrue(index.complete("jazz", 10).isEmpty());
+        assertTrue(index.complete("market", 10).isEmpty());
+        assertEquals("Blues Night", index.complete("blu", 10).get(0).getText());
+    }
+
+    @Test
+    public void shouldKeepBestTextsOfLongRangesUpToDate() {
+        //given
+        int events = AutocompleteIndex.SCAN_LIMIT + 10;
+        for (long id = 1; id <= events; id++) {
+            index.eventSaved(null, event(id, "Party " + id, "Main Street " + id, TODAY, id % 7));
+        }
+        assertEquals(6, index.complete("party", 1).get(0).getParticipantCount());
+        //when
+        EventSummary quiet = event(100L, "Party 100", "Main Street 100", TODAY, 100 % 7);
+        EventSummary popular = event(100L, "Party 100", "Main Street 100", TODAY, 1000);
+        index.eventSaved(quiet, popular);
+        List<Completion> afterJoins = index.complete("party", 2);
+        index.eventDeleted(popular);
+        List<Completion> afterDelete = index.complete("party", 2);
+        index.eventSaved(null, event(events + 1L, "Party Night", "Main Street 1", TODAY, 500));
+        List<Completion> afterCreate = index.complete("party", 2);
+        //then
+        assertEquals("Party 100", afterJoins.get(0).getText());
+        assertEquals(6, afterJoins.get(1).getParticipantCount());
+        assertEquals(6, afterDelete.get(0).getParticipantCount());
+        assertEquals("Party Night", afterCreate.get(0).getText());
+        assertEquals(6, afterCreate.get(1).getParticipantCount());
+    }
+
+    @Test
+    public void shouldOfferUpcomingEventsBeforeMorePopularPastOnesBeyondTheKeptTexts() {
+        //given
+        for (long id = 1; id <= AutocompleteIndex.SCAN_LIMIT + 10; id++) {
+            index.eventSaved(null, event(id, "Party " + id, "Main Street " + id, TODAY.minusDays(1), 100 + id));
+        }
+        index.eventSaved(null, event(1000L, "Party Tonight", "Main Street 1000", TODAY, 0));
+        index.eventSaved(null, event(1001L, "Jazz Night", "Main Street 1001", TODAY.minusDays(1), 50));
+        for (long id = 1002; id < 1002 + AutocompleteIndex.KEPT_TEXTS; id++) {
+            index.eventSaved(null, event(id, "Jazz " + id, "Main Street " + id, TODAY.minusDays(1), 100));
+        }
+        index.eventSaved(null, event(2000L, "Jazz Brunch", "Main Street 2000", TODAY.plusDays(1), 1));
+        //when
+        List<Completion> parties = index.complete("party", 2);
+        List<Completion> jazz = index.complete("jazz", 2);
+        //then
+        assertEquals("Party Tonight", parties.get(0).getText());
+        assertEquals(AutocompleteIndex.SCAN_LIMIT + 110, parties.get(1).getParticipantCount());
+        assertEquals("Jazz Brunch", jazz.get(0).getText());
+    }
+
+    @Test
+    public void shouldKeepRankingLongRangesCorrectlyAsBestTextsLoseRank() {
+        //given
+        int events = AutocompleteIndex.SCAN_LIMIT + 10;
+        for (long id = 1; id <= events; id++) {
+            index.eventSaved(null, event(id, "Party " + id, "Main Street " + id, TODAY, id));
+        }
+        //when
+        for (long id = events; id > events - 2 * AutocompleteIndex.KEPT_TEXTS; id--) {
+            assertEquals(id, index.complete("party", 1).get(0).getParticipantCount());
+            index.eventSaved(event(id, "Party " + id, "Main Street " + id, TODAY, id),
+                    event(id, "Party " + id, "Main Street " + id, TODAY, 0));
+        }
+        //then
+        assertEquals(events - 2 * AutocompleteIndex.KEPT_TEXTS, index.complete("party", 1).get(0).getParticipantCount());
+    }
+
+    @Test
+    public void shouldReturnNothingForBlankPrefix() {
+        index.eventSaved(null, event(1L, "Jazz Night", "Main Street 1", TODAY, 2));
+        assertTrue(index.complete(" - ", 10).isEmpty());
+    }
+
+    private static EventSummary event(long id, String name, String address, LocalDate date, long participants) {
+        return new EventSummary(id, name, date, address, null, participants);
+    }
+}
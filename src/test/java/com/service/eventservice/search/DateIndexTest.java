@@ -0,0 +1,92 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateIndexTest {
+
+    private DateIndex index;
+
+    @Before
+    public void setUp() {
+        index = new DateIndex();
+        index.eventSaved(null, event(1L, LocalDate.of(2019, 1, 1)));
+        index.eventSaved(null, event(2L, LocalDate.of(2019, 1, 5)));
+        index.eventSaved(null, event(3L, LocalDate.of(2019, 1, 5)));
+        index.eventSaved(null, event(4L, LocalDate.of(2019, 2, 1)));
+    }
+
+    @Test
+    public void shouldReturnIdsOfInclusiveRangeInDateAndIdOrder() {
+        //given
+        index.eventSaved(null, event(5L, LocalDate.of(2019, 1, 3)));
+        List<Long> ids = new ArrayList<>();
+        //when
+        int count = index.forEach(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 5), ids::add);
+        //then
+        assertEquals(4, count);
+        assertEquals(Arrays.asList(1L, 5L, 2L, 3L), ids);
+        assertEquals(2, index.count(LocalDate.of(2019, 1, 5), LocalDate.of(2019, 1, 5)));
+        assertEquals(0, index.count(LocalDate.of(2019, 1, 6), LocalDate.of(2019, 1, 31)));
+        assertEquals(0, index.count(LocalDate.of(2019, 2, 1), LocalDate.of(2019, 1, 1)));
+        assertEquals(5, index.count(LocalDate.MIN, LocalDate.MAX));
+    }
+
+    @Test
+    public void shouldMoveRescheduledEventsAndDropDeletedOnes() {
+        //when
+        index.eventSaved(event(2L, LocalDate.of(2019, 1, 5)), event(2L, LocalDate.of(2019, 2, 1)));
+        index.eventDeleted(event(4L, LocalDate.of(2019, 2, 1)));
+        index.eventDeleted(event(9L, LocalDate.of(2019, 2, 1)));
+        List<Long> ids = new ArrayList<>();
+        index.forEach(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31), ids::add);
+        //then
+        assertEquals(Arrays.asList(1L, 3L, 2L), ids);
+    }
+
+    @Test
+    public void shouldGrowPastInitialCapacityAndReportReadinessAfterLoad() {
+        //given
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (long id = 10; id < 3010; id++) {
+            index.eventSaved(null, event(id, start.plusDays(id % 30)));
+        }
+        assertFalse(index.isReady());
+        //when
+        index.loadCompleted();
+        //then
+        assertTrue(index.isReady());
+        assertEquals(3000, index.count(start, start.plusDays(29)));
+        assertEquals(100, index.count(start.plusDays(7), start.plusDays(7)));
+    }
+
+    @Test
+    public void shouldMergeEventsSavedTogetherInAnyOrder() {
+        //given
+        List<EventSummary> previous = Arrays.asList(null, null, event(2L, LocalDate.of(2019, 1, 5)),
+                event(3L, LocalDate.of(2019, 1, 5)), null, null);
+        List<EventSummary> current = Arrays.asList(event(7L, LocalDate.of(2019, 3, 1)),
+                event(6L, LocalDate.of(2018, 12, 31)), event(2L, LocalDate.of(2019, 1, 2)),
+                event(3L, LocalDate.of(2019, 1, 5)), event(5L, LocalDate.of(2019, 1, 5)), event(8L, null));
+        //when
+        index.eventsSaved(previous, current);
+        List<Long> ids = new ArrayList<>();
+        index.forEach(LocalDate.MIN, LocalDate.MAX, ids::add);
+        //then
+        assertEquals(Arrays.asList(6L, 1L, 2L, 3L, 5L, 4L, 7L), ids);
+    }
+
+    private static EventSummary event(long id, LocalDate date) {
+        return new EventSummary(id, "Party", date, "Wroclaw", null, 0);
+    }
+}
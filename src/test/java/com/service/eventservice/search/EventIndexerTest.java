@@ -0,0 +1,177 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.EventRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static java.util.Optional.of;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EventIndexerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventWriteListener listener;
+
+    private EventIndexer indexer;
+
+    @Before
+    public void setUp() {
+        indexer = new EventIndexer(eventRepository, Collections.singletonList(listener));
+    }
+
+    @Test
+    public void shouldLoadEveryStoredEventInKeysetBatches() {
+        //given
+        List<EventSummary> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= EventIndexer.LOAD_BATCH_SIZE; id++) {
+            firstBatch.add(summary(id, "Party", 0));
+        }
+        EventSummary last = summary(EventIndexer.LOAD_BATCH_SIZE + 1L, "Last", 0);
+        when(eventRepository.findSummaryPage(PageRequest.of(0, EventIndexer.LOAD_BATCH_SIZE))).thenReturn(firstBatch);
+        when(eventRepository.findSummaryPageAfter(LocalDate.of(2019, 1, 1), EventIndexer.LOAD_BATCH_SIZE,
+                PageRequest.of(0, EventIndexer.LOAD_BATCH_SIZE))).thenReturn(Collections.singletonList(last));
+        //when
+        indexer.load();
+        //then
+        assertEquals(last, indexer.get(last.getId()));
+        verify(listener).eventSaved(null, last);
+        verify(listener).loadCompleted();
+    }
+
+    @Test
+    public void shouldPassPreviousStateAndKeepParticipantCountOfUnloadedParticipants() {
+        //given
+        EventSummary stored = summary(1L, "Party", 3);
+        indexer.saved(stored);
+        Event renamed = new Event("Big Party", LocalDate.of(2019, 1, 1), "Wroclaw", new Organizer("John", "john@gmail.com"));
+        renamed.setId(1L);
+        renamed.setUsers(null);
+        //when
+        indexer.saved(renamed);
+        //then
+        EventSummary expected = new EventSummary(1L, "Big Party", LocalDate.of(2019, 1, 1), "Wroclaw", "John", 3);
+        assertEquals(expected, indexer.get(1L));
+        verify(listener).eventSaved(stored, expected);
+    }
+
+    @Test
+    public void shouldReportEventsSavedTogetherInOneCall() {
+        //given
+        EventSummary stored = summary(1L, "Party", 3);
+        indexer.saved(stored);
+        Event renamed = new Event("Big Party", LocalDate.of(2019, 1, 1), "Wroclaw", null);
+        renamed.setId(1L);
+        renamed.setUsers(null);
+        Event added = new Event("Gig", LocalDate.of(2019, 2, 1), "Krakow", null);
+        added.setId(2L);
+        //when
+        indexer.savedAll(Arrays.asList(renamed, added));
+        //then
+        EventSummary first = new EventSummary(1L, "Big Party", LocalDate.of(2019, 1, 1), "Wroclaw", null, 3);
+        EventSummary second = new EventSummary(2L, "Gig", LocalDate.of(2019, 2, 1), "Krakow", null, 0);
+        verify(listener).eventsSaved(Arrays.asList(stored, null), Arrays.asList(first, second));
+        verify(listener, never()).eventSaved(null, second);
+        assertEquals(second, indexer.get(2L));
+    }
+
+    @Test
+    public void shouldForgetDeletedEvent() {
+        //given
+        EventSummary stored = summary(1L, "Party", 0);
+        indexer.saved(stored);
+        //when
+        indexer.deleted(1L);
+        indexer.deleted(2L);
+        //then
+        assertNull(indexer.get(1L));
+        verify(listener).eventDeleted(stored);
+    }
+
+    @Test
+    public void shouldNotLoadEventDeletedWhileLoading() {
+        //given
+        EventSummary deleted = summary(1L, "Party", 0);
+        EventSummary kept = summary(2L, "Gig", 0);
+        when(eventRepository.findSummaryPage(PageRequest.of(0, EventIndexer.LOAD_BATCH_SIZE))).thenAnswer(invocation -> {
+            indexer.deleted(1L);
+            return Arrays.asList(deleted, kept);
+        });
+        //when
+        indexer.load();
+        //then
+        assertNull(indexer.get(1L));
+        assertEquals(kept, indexer.get(2L));
+        verify(listener, never()).eventSaved(null, deleted);
+    }
+
+    @Test
+    public void shouldReadSummaryAgainWhenRefreshed() {
+        //given
+        EventSummary stored = summary(1L, "Party", 3);
+        EventSummary joined = summary(1L, "Party", 5);
+        indexer.saved(stored);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(joined));
+        //when
+        indexer.refresh(1L);
+        //then
+        assertEquals(joined, indexer.get(1L));
+        verify(listener).eventSaved(stored, joined);
+    }
+
+    @Test
+    public void shouldKeepCountOfLaterRefreshAndChangesAppliedWhileReading() {
+        //given
+        EventSummary stored = summary(1L, "Party", 3);
+        indexer.saved(stored);
+        EventSummary renamed = summary(1L, "Big Party", 3);
+        when(eventRepository.findSummaryById(1L))
+                .thenAnswer(invocation -> {
+                    indexer.saved(renamed);
+                    indexer.refresh(1L);
+                    return of(summary(1L, "Party", 4));
+                })
+                .thenReturn(of(summary(1L, "Party", 5)));
+        //when
+        indexer.refresh(1L);
+        //then
+        assertEquals(summary(1L, "Big Party", 5), indexer.get(1L));
+    }
+
+    @Test
+    public void shouldNotBringBackEventDeletedWhileRefreshing() {
+        //given
+        indexer.saved(summary(1L, "Party", 3));
+        when(eventRepository.findSummaryById(1L)).thenAnswer(invocation -> {
+            indexer.deleted(1L);
+            return of(summary(1L, "Party", 4));
+        });
+        //when
+        indexer.refresh(1L);
+        //then
+        assertNull(indexer.get(1L));
+    }
+
+    private static EventSummary summary(long id, String name, long participants) {
+        return new EventSummary(id, name, LocalDate.of(2019, 1, 1), "Wroclaw", "John", participants);
+    }
+}
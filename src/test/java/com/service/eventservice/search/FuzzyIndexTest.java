@@ -0,0 +1,95 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+public class FuzzyIndexTest {
+
+    private FuzzyIndex index;
+
+    @Before
+    public void setUp() {
+        index = new FuzzyIndex();
+        index.eventSaved(null, event(1L, "Halloween Party"));
+        index.eventSaved(null, event(2L, "Hallowen Party"));
+        index.eventSaved(null, event(3L, "Rock Party"));
+        index.eventSaved(null, event(4L, "Jazz Night"));
+    }
+
+    @Test
+    public void shouldFindNamesWithinAFewEditsClosestFirst() {
+        //when
+        Hits hits = index.search("Halloween partty", 0, 10);
+        //then
+        assertEquals(2, hits.getTotal());
+        assertEquals(1L, hits.id(0));
+        assertEquals(2L, hits.id(1));
+        assertEquals(1.5, hits.score(0), 0);
+        assertEquals(1.0, hits.score(1), 0);
+    }
+
+    @Test
+    public void shouldRequireEveryWordAndScaleToleranceWithWordLength() {
+        assertEquals(0, index.search("halloween opera", 0, 10).getTotal());
+        assertEquals(1, index.search("jaz nigth", 0, 10).getTotal());
+        assertEquals(0, index.search("jazz nuhgtt", 0, 10).getTotal());
+        assertEquals(0, index.search("r", 0, 10).getTotal());
+        assertEquals(1, index.search("roc", 0, 10).getTotal());
+    }
+
+    @Test
+    public void shouldReturnRequestedPageWithTotal() {
+        //when
+        Hits hits = index.search("party", 1, 1);
+        //then
+        assertEquals(3, hits.getTotal());
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.id(0));
+    }
+
+    @Test
+    public void shouldFollowRenamedAndDeletedEventsAndReuseWordIds() {
+        //when
+        index.eventSaved(event(4L, "Jazz Night"), event(4L, "Blues Night"));
+        index.eventDeleted(event(3L, "Rock Party"));
+        index.eventSaved(null, event(5L, "Jazzy Brunch"));
+        //then
+        assertEquals(0, index.search("rock", 0, 10).getTotal());
+        assertEquals(5L, index.search("jazz", 0, 10).id(0));
+        assertEquals(4L, index.search("bluse night", 0, 10).id(0));
+        assertEquals(1, index.search("brunch", 0, 10).getTotal());
+    }
+
+    @Test
+    public void shouldFindShortWordsSharingNoTrigramWithTheQuery() {
+        //given
+        index.eventSaved(null, event(5L, "Pub Quiz"));
+        //when
+        Hits substituted = index.search("pxb", 0, 10);
+        Hits swapped = index.search("jzaz", 0, 10);
+        //then
+        assertEquals(1, substituted.getTotal());
+        assertEquals(5L, substituted.id(0));
+        assertEquals(1, swapped.getTotal());
+        assertEquals(4L, swapped.id(0));
+    }
+
+    @Test
+    public void shouldBoundEditDistance() {
+        EditDistance distance = new EditDistance();
+        assertEquals(1, distance.within("hallowen", "halloween", 2));
+        assertEquals(1, distance.within("nigth", "night", 2));
+        assertEquals(3, distance.within("nuhgtt", "night", 2));
+        assertEquals(3, distance.within("party", "opera", 2));
+        assertEquals(3, distance.within("a", "abcd", 2));
+    }
+
+    private static EventSummary event(long id, String name) {
+        return new EventSummary(id, name, LocalDate.of(2019, 1, 1), "Main Street 1", null, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.service.eventservice.search;
+
+import com.service.eventservice.model.EventSummary;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @Before
+    public void setUp() {
+        index = new InvertedIndex();
+        index.eventSaved(null, event(1L, "Jazz Night", "Main Street 1"));
+        index.eventSaved(null, event(2L, "Rock Party", "Main Street 5"));
+        index.eventSaved(null, event(3L, "Jazz Brunch", "Market Square"));
+        index.eventSaved(null, event(4L, "Street Food Fest", "Jazzowa 3"));
+    }
+
+    @Test
+    public void shouldMatchAllWordsAsPrefixesIgnoringCaseAndAccents() {
+        //when
+        Hits hits = index.search("JAZZ main st", 0, 10);
+        Hits accented = index.search("Márket", 0, 10);
+        //then
+        assertEquals(1, hits.getTotal());
+        assertEquals(1L, hits.id(0));
+        assertEquals(1, accented.getTotal());
+        assertEquals(3L, accented.id(0));
+    }
+
+    @Test
+    public void shouldRankWholeNameWordsAboveAddressAndPrefixMatches() {
+        //when
+        Hits hits = index.search("jazz", 0, 10);
+        //then
+        assertEquals(3, hits.getTotal());
+        assertEquals(1L, hits.id(0));
+        assertEquals(3L, hits.id(1));
+        assertEquals(4L, hits.id(2));
+        assertEquals(2.0, hits.score(0), 0);
+        assertEquals(0.5, hits.score(2), 0);
+    }
+
+    @Test
+    public void shouldReturnRequestedPageWithTotal() {
+        //when
+        Hits hits = index.search("street", 1, 2);
+        //then
+        assertEquals(3, hits.getTotal());
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.id(0));
+        assertEquals(2L, hits.id(1));
+    }
+
+    @Test
+    public void shouldFollowRenamedAndDeletedEvents() {
+        //when
+        index.eventSaved(event(2L, "Rock Party", "Main Street 5"), event(2L, "Jazz Party", "Main Street 5"));
+        index.eventDeleted(event(1L, "Jazz Night", "Main Street 1"));
+        //then
+        assertEquals(0, index.search("rock", 0, 10).getTotal());
+        assertEquals(0, index.search("night", 0, 10).getTotal());
+        Hits hits = index.search("jazz main", 0, 10);
+        assertEquals(1, hits.getTotal());
+        assertEquals(2L, hits.id(0));
+    }
+
+    @Test
+    public void shouldReturnNothingWhenAnyWordIsMissing() {
+        assertEquals(0, index.search("jazz opera", 0, 10).getTotal());
+        assertEquals(0, index.search("  ", 0, 10).getTotal());
+    }
+
+    private static EventSummary event(long id, String name, String address) {
+        return new EventSummary(id, name, LocalDate.of(2019, 1, 1), address, null, 0);
+    }
+}
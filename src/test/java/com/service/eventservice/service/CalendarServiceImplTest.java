@@ -0,0 +1,135 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.cache.CalendarCache;
+import com.service.eventservice.model.CalendarDay;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.repository.EventRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CalendarServiceImplTest {
+
+    private static final LocalDate JANUARY_START = LocalDate.of(2019, 1, 1);
+    private static final LocalDate JANUARY_END = LocalDate.of(2019, 1, 31);
+    private static final Pageable TOP = PageRequest.of(0, CalendarCache.MAX_TOP_EVENTS);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private CalendarCache calendarCache;
+    private CalendarServiceImpl calendarService;
+
+    @Before
+    public void setUp() {
+        calendarCache = new CalendarCache(10, 60);
+        calendarService = new CalendarServiceImpl(eventRepository, calendarCache);
+        when(eventRepository.countByDateBetween(JANUARY_START, JANUARY_END)).thenReturn(Arrays.asList(
+                new CalendarDay(LocalDate.of(2019, 1, 10), 1), new CalendarDay(LocalDate.of(2019, 1, 20), 2)));
+    }
+
+    @Test
+    public void shouldReturnDayCountsOfMonthFromCache() {
+        //when
+        List<CalendarDay> first = calendarService.month(YearMonth.of(2019, 1), 0);
+        List<CalendarDay> second = calendarService.month(YearMonth.of(2019, 1), 0);
+        //then
+        assertEquals(Arrays.asList(new CalendarDay(LocalDate.of(2019, 1, 10), 1), new CalendarDay(LocalDate.of(2019, 1, 20), 2)), first);
+        assertEquals(first, second);
+        verify(eventRepository, times(1)).countByDateBetween(JANUARY_START, JANUARY_END);
+        verify(eventRepository, never()).findByDateMostAttendedFirst(any(), any());
+    }
+
+    @Test
+    public void shouldReturnMostAttendedNamesPerDayUpToRequestedCount() {
+        //given
+        when(eventRepository.findByDateMostAttendedFirst(LocalDate.of(2019, 1, 10), TOP))
+                .thenReturn(Collections.singletonList(event(1L, "Jazz Night", LocalDate.of(2019, 1, 10), 2)));
+        when(eventRepository.findByDateMostAttendedFirst(LocalDate.of(2019, 1, 20), TOP)).thenReturn(Arrays.asList(
+                event(2L, "Rock Party", LocalDate.of(2019, 1, 20), 5),
+                event(3L, "Opera", LocalDate.of(2019, 1, 20), 1)));
+        //when
+        List<CalendarDay> days = calendarService.month(YearMonth.of(2019, 1), 1);
+        //then
+        assertEquals(Arrays.asList(new CalendarDay(LocalDate.of(2019, 1, 10), 1, Collections.singletonList("Jazz Night")),
+                new CalendarDay(LocalDate.of(2019, 1, 20), 2, Collections.singletonList("Rock Party"))), days);
+    }
+
+    @Test
+    public void shouldCombineMonthsOfWeekSpanningThem() {
+        //given
+        when(eventRepository.countByDateBetween(LocalDate.of(2019, 2, 1), LocalDate.of(2019, 2, 28)))
+                .thenReturn(Arrays.asList(new CalendarDay(LocalDate.of(2019, 2, 2), 4), new CalendarDay(LocalDate.of(2019, 2, 4), 1)));
+        when(eventRepository.countByDateBetween(JANUARY_START, JANUARY_END))
+                .thenReturn(Arrays.asList(new CalendarDay(LocalDate.of(2019, 1, 27), 3), new CalendarDay(LocalDate.of(2019, 1, 31), 1)));
+        //when
+        List<CalendarDay> days = calendarService.week(LocalDate.of(2019, 2, 1), 0);
+        //then
+        assertEquals(Arrays.asList(new CalendarDay(LocalDate.of(2019, 1, 31), 1), new CalendarDay(LocalDate.of(2019, 2, 2), 4)), days);
+    }
+
+    @Test
+    public void shouldReloadOnlyMonthsTouchedByChanges() {
+        //given
+        EventSummary jazz = event(1L, "Jazz Night", LocalDate.of(2019, 1, 10), 2);
+        when(eventRepository.findByDateMostAttendedFirst(LocalDate.of(2019, 1, 10), TOP))
+                .thenReturn(Collections.singletonList(jazz));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        //when
+        calendarCache.eventSaved(jazz, event(1L, "Jazz Night", LocalDate.of(2019, 1, 10), 3));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        calendarCache.eventSaved(null, event(2L, "Opera", LocalDate.of(2019, 3, 1), 0));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        calendarCache.eventDeleted(jazz);
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        //then
+        verify(eventRepository, times(2)).countByDateBetween(JANUARY_START, JANUARY_END);
+        verify(eventRepository, times(3)).findByDateMostAttendedFirst(LocalDate.of(2019, 1, 10), TOP);
+    }
+
+    @Test
+    public void shouldKeepTopEventsWhenChangedEventCannotEnterThem() {
+        //given
+        LocalDate day = LocalDate.of(2019, 1, 20);
+        List<EventSummary> top = new ArrayList<>();
+        for (long id = 1; id <= CalendarCache.MAX_TOP_EVENTS; id++) {
+            top.add(event(id, "Party " + id, day, 10 - id));
+        }
+        when(eventRepository.findByDateMostAttendedFirst(day, TOP)).thenReturn(top);
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        long lastCount = 10 - CalendarCache.MAX_TOP_EVENTS;
+        //when
+        calendarCache.eventSaved(event(9L, "Gig", day, 0), event(9L, "Big Gig", day, lastCount));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        calendarCache.eventSaved(event(9L, "Big Gig", day, lastCount), event(9L, "Big Gig", day, lastCount + 1));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        calendarCache.eventSaved(event(2L, "Party 2", day, 8), event(2L, "Party 2", day, 7));
+        calendarService.month(YearMonth.of(2019, 1), 3);
+        //then
+        verify(eventRepository, times(3)).findByDateMostAttendedFirst(day, TOP);
+        verify(eventRepository, times(1)).countByDateBetween(JANUARY_START, JANUARY_END);
+    }
+
+    private static EventSummary event(long id, String name, LocalDate date, long participants) {
+        return new EventSummary(id, name, date, "Wroclaw", "John", participants);
+    }
+}
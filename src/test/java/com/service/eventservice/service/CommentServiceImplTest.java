@@ -2,27 +2,41 @@ package com.service.eventservice.service;
 
 import com.service.eventservice.exception.CommentNotFoundException;
 import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
 import com.service.eventservice.exception.UserNotFoundException;
 import com.service.eventservice.model.Comment;
+import com.service.eventservice.model.CommentSummary;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
 import com.service.eventservice.model.User;
 import com.service.eventservice.repository.CommentRepository;
 import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.writebehind.AckMode;
+import com.service.eventservice.writebehind.CommentWriteBehind;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Optional.*;
 import static java.util.Optional.of;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -34,6 +48,8 @@ public class CommentServiceImplTest {
     private EventRepository eventRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private CommentWriteBehind commentWriteBehind;
     @InjectMocks
     private CommentServiceImpl commentService;
     private User user;
@@ -59,6 +75,42 @@ public class CommentServiceImplTest {
         assertEquals(comment, createdComment);
     }
 
+    @Test
+    public void shouldQueueCommentWithoutLoadingUserAndEventWhenWriteBehindIsEnabled() {
+        //given
+        when(commentWriteBehind.isEnabled()).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.existsById(2L)).thenReturn(true);
+        //when
+        Comment createdComment = commentService.createUserCommentForGivenEvent(comment, 1, 2);
+        //then
+        assertEquals(comment, createdComment);
+        verify(commentWriteBehind).submit(argThat(pending -> pending.getContents().equals("Great!")
+                && pending.getUserId() == 1L && pending.getEventId() == 2L));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldNotQueueCommentForMissingEvent() {
+        when(commentWriteBehind.isEnabled()).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.existsById(2L)).thenReturn(false);
+        commentService.createUserCommentForGivenEvent(comment, 1, 2);
+    }
+
+    @Test
+    public void shouldAcknowledgeBeforeWriteOnlyInEnqueueMode() {
+        //given
+        when(commentWriteBehind.isEnabled()).thenReturn(true);
+        when(commentWriteBehind.getAckMode()).thenReturn(AckMode.ENQUEUE, AckMode.FLUSH);
+        //when
+        boolean enqueue = commentService.isCreateAcknowledgedBeforeWrite();
+        boolean flush = commentService.isCreateAcknowledgedBeforeWrite();
+        //then
+        assertTrue(enqueue);
+        assertFalse(flush);
+    }
+
     @Test(expected = UserNotFoundException.class)
     public void shouldThrowUserNotFoundExceptionWhenGivenUserDoesNotExist() {
         //given
@@ -88,26 +140,43 @@ public class CommentServiceImplTest {
     }
 
     @Test
-    public void shouldReturnAllCommentsForEvent() {
+    public void shouldReturnNewestCommentsForEventWithCursor() {
         //given
-        List<Comment> comments = Arrays.asList(new Comment("hello", user, event),
-                new Comment("hi", user, event));
-        when(commentRepository.findByEventId(1L)).thenReturn(comments);
+        List<CommentSummary> comments = Arrays.asList(
+                new CommentSummary(3L, "hello", 1L, "username", 1L),
+                new CommentSummary(2L, "hi", 1L, "username", 1L));
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findSummariesByEventIdBefore(1L, Long.MAX_VALUE, PageRequest.of(0, 2))).thenReturn(comments);
         //when
-        List<Comment> allCommentsForEvent = commentService.getAllCommentsForEvent(1L);
-        assertEquals(comments, allCommentsForEvent);
+        CursorPage<CommentSummary> page = commentService.getCommentsForEvent(1L, null, 1);
+        //then
+        assertEquals(comments.subList(0, 1), page.getItems());
+        assertEquals(CursorCodec.encode("3"), page.getNextCursor());
     }
 
     @Test
-    public void shouldReturnAllCommentsForUser() {
+    public void shouldContinueCommentsForUserBeforeCursor() {
         //given
-        List<Comment> comments = Arrays.asList(new Comment("hello", user, event),
-                new Comment("hi", user, event));
-        when(commentRepository.findByUserId(1L)).thenReturn(comments);
+        List<CommentSummary> comments = Collections.singletonList(new CommentSummary(2L, "hi", 1L, "username", 1L));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findSummariesByUserIdBefore(1L, 3L, PageRequest.of(0, 21))).thenReturn(comments);
         //when
-        List<Comment> allCommentsForUser = commentService.getAllCommentsForUser(1L);
+        CursorPage<CommentSummary> page = commentService.getCommentsForUser(1L, CursorCodec.encode("3"), 20);
         //then
-        assertEquals(comments, allCommentsForUser);
+        assertEquals(comments, page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldThrowEventNotFoundExceptionWhenListingCommentsOfMissingEvent() {
+        when(eventRepository.existsById(1L)).thenReturn(false);
+        commentService.getCommentsForEvent(1L, null, 20);
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectMalformedCommentsCursor() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        commentService.getCommentsForUser(1L, "not a cursor", 20);
     }
 
     @Test
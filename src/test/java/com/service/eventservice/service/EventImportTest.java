@@ -0,0 +1,99 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.ImportError;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.EventRepository;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class EventImportTest {
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @After
+    public void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldImportCsvInChunksAndReportInvalidRows() {
+        //given
+        StringBuilder csv = new StringBuilder("name,date,address,capacity,organizer.name,organizer.email\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Event ").append(i).append(",2019-03-01,Wroclaw,100,Organizer ").append(i)
+                    .append(",o").append(i).append("@gmail.com\n");
+        }
+        csv.append("Broken date,2019-13-01,Wroclaw,,,\n")
+                .append(",2019-03-01,Wroclaw,,,\n")
+                .append("Bad email,2019-03-01,Wroclaw,,John,not-an-email\n");
+        //when
+        ImportReport report = eventService.importEvents(body(csv.toString()), ImportRowReader.TEXT_CSV);
+        //then
+        assertEquals(2503, report.getReceived());
+        assertEquals(2500, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(Arrays.asList(
+                new ImportError(2502, "Invalid date 2019-13-01, expected yyyy-MM-dd"),
+                new ImportError(2503, "Missing name"),
+                new ImportError(2504, "email must be a well-formed email address")), report.getErrors());
+        assertEquals(2500, eventRepository.count());
+        Event imported = eventRepository.findSummariesByName("Event 2499").stream()
+                .findFirst()
+                .flatMap(summary -> eventRepository.findWithOrganizerAndUsersById(summary.getId()))
+                .orElseThrow(AssertionError::new);
+        assertEquals(Integer.valueOf(100), imported.getCapacity());
+        assertEquals("o2499@gmail.com", imported.getOrganizer().getEmail());
+    }
+
+    @Test
+    public void shouldImportNewlineDelimitedJsonWithoutOrganizer() {
+        //given
+        String ndjson = "{\"name\":\"Jazz Night\",\"date\":\"2019-01-10\",\"address\":\"Main Street 1\"}\n"
+                + "{\"name\":\"Rock Party\",\"date\":\"2019-01-20\",\"address\":\"Main Street 5\",\"organizer\":{\"name\":\"Bob\",\"email\":\"bob@gmail.com\"}}\n";
+        //when
+        ImportReport report = eventService.importEvents(body(ndjson), MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"));
+        //then
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertNotNull(eventService.findByDate(LocalDate.of(2019, 1, 20)).get(0).getOrganizerName());
+    }
+
+    @Test
+    public void shouldShareIdSequencesWithEntitiesSavedThroughJpa() {
+        //given
+        String csv = "name,date,address,organizer.name\nJazz Night,2019-01-10,Main Street 1,John\n";
+        //when
+        eventService.importEvents(body(csv), ImportRowReader.TEXT_CSV);
+        eventRepository.save(new Event("Rock Party", LocalDate.of(2019, 1, 20), "Main Street 5", new Organizer("Bob", "bob@gmail.com")));
+        ImportReport report = eventService.importEvents(body(csv), ImportRowReader.TEXT_CSV);
+        //then
+        assertEquals(1, report.getImported());
+        assertEquals(3, eventRepository.count());
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
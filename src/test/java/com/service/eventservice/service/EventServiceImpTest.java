@@ -1,25 +1,47 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
 import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
+import com.service.eventservice.exception.PreconditionFailedException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSearchCriteria;
+import com.service.eventservice.model.EventSummary;
 import com.service.eventservice.model.Organizer;
 import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.search.DateIndex;
+import com.service.eventservice.search.EventIndexer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 import static java.util.Optional.ofNullable;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -28,10 +50,29 @@ public class EventServiceImpTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private EventCache eventCache = new EventCache(100, 60);
+
+    @Mock
+    private SeatReservations seatReservations;
+
+    @Mock
+    private EventIndexer eventIndexer;
+
+    @Mock
+    private DateIndex dateIndex;
+
+    @Spy
+    private OptimisticRetry optimisticRetry = OptimisticRetry.withoutTransactions(1, 0);
+
     @InjectMocks
     private EventServiceImp eventService;
 
     private List<Event> events = generateEventsList();
+    private List<EventSummary> summaries = generateSummariesList();
 
     @Test
     public void shouldReturnAllEvents() {
@@ -55,21 +96,86 @@ public class EventServiceImpTest {
         assertEquals(0, allEvents.size());
     }
 
+    @Test
+    public void shouldContinueFromCursorOfPreviousPage() {
+        //when
+        when(eventRepository.findSummaryPage(PageRequest.of(0, 3))).thenReturn(summaries);
+        when(eventRepository.findSummaryPageAfter(LocalDate.of(2018, 12, 27), 2L, PageRequest.of(0, 3)))
+                .thenReturn(summaries.subList(2, 3));
+        CursorPage<EventSummary> page = eventService.findEventsPage(null, 2);
+        CursorPage<EventSummary> nextPage = eventService.findEventsPage(page.getNextCursor(), 2);
+        //then
+        assertEquals(summaries.subList(0, 2), page.getItems());
+        assertEquals(summaries.subList(2, 3), nextPage.getItems());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    public void shouldBoundRequestedPageSize() {
+        //when
+        when(eventRepository.findSummaryPage(PageRequest.of(0, EventServiceImp.MAX_PAGE_SIZE + 1)))
+                .thenReturn(summaries);
+        CursorPage<EventSummary> page = eventService.findEventsPage(null, 10_000);
+        //then
+        assertEquals(summaries, page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldThrowInvalidRequestExceptionWhenCursorIsMalformed() {
+        eventService.findEventsPage("not-a-cursor", 10);
+    }
+
+    @Test
+    public void shouldBoundPageSizeOfSearchAndKeepSort() {
+        //given
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        Sort sort = Sort.by("name");
+        Page<EventSummary> expected = new PageImpl<>(summaries);
+        //when
+        when(eventRepository.search(criteria, PageRequest.of(2, EventServiceImp.MAX_PAGE_SIZE, sort))).thenReturn(expected);
+        Page<EventSummary> page = eventService.searchEvents(criteria, PageRequest.of(2, 5_000, sort));
+        //then
+        assertEquals(expected, page);
+    }
+
+    @Test
+    public void shouldExportEventsInBlocksLoadedWithTheirParticipants() {
+        //given
+        List<Event> exported = new ArrayList<>();
+        List<Long> firstIds = new ArrayList<>();
+        for (long id = 1; id <= EventServiceImp.EXPORT_BLOCK_SIZE; id++) {
+            firstIds.add(id);
+        }
+        List<Long> lastIds = Collections.singletonList(EventServiceImp.EXPORT_BLOCK_SIZE + 1L);
+        PageRequest block = PageRequest.of(0, EventServiceImp.EXPORT_BLOCK_SIZE);
+        //when
+        when(eventRepository.findIdsAfter(Long.MIN_VALUE, block)).thenReturn(firstIds);
+        when(eventRepository.findIdsAfter(EventServiceImp.EXPORT_BLOCK_SIZE, block)).thenReturn(lastIds);
+        when(eventRepository.findDistinctWithOrganizerAndUsersByIdInOrderByIdAsc(firstIds)).thenReturn(events.subList(0, 1));
+        when(eventRepository.findDistinctWithOrganizerAndUsersByIdInOrderByIdAsc(lastIds)).thenReturn(events.subList(1, events.size()));
+        eventService.exportEvents(exported::add);
+        //then
+        assertEquals(events, exported);
+        verify(entityManager, times(2)).clear();
+        verify(eventRepository, times(2)).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
     @Test
     public void shouldReturnProperEventByEventName() {
         //given
         String eventName = "Party1";
         //when
-        when(eventRepository.findByNameIgnoreCase(eventName)).thenReturn(events);
-        List<Event> eventsByName = eventService.findByName(eventName);
+        when(eventRepository.findSummariesByName(eventName)).thenReturn(summaries);
+        List<EventSummary> eventsByName = eventService.findByName(eventName);
         //then
-        assertEquals(events, eventsByName);
+        assertEquals(summaries, eventsByName);
     }
 
     @Test(expected = EventNotFoundException.class)
     public void shouldThrowNotFoundExceptionWhenGivenNameOfEventDoesNotExist() {
         //when
-        when(eventRepository.findByNameIgnoreCase(anyString())).thenReturn(null);
+        when(eventRepository.findSummariesByName(anyString())).thenReturn(null);
         eventService.findByName("AnyName");
     }
 
@@ -78,7 +184,7 @@ public class EventServiceImpTest {
         //given
         Event event = events.get(0);
         //when
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(event));
+        when(eventRepository.findWithOrganizerAndUsersById(1L)).thenReturn(ofNullable(event));
         Event eventById = eventService.findById(1);
         //then
         assertEquals(event, eventById);
@@ -86,8 +192,89 @@ public class EventServiceImpTest {
 
     @Test(expected = EventNotFoundException.class)
     public void shouldThrowNotFoundExceptionWhenGivenEventByIdDoesNotExist() {
-        when(eventRepository.findById(1L)).thenThrow(EventNotFoundException.class);
+        when(eventRepository.findWithOrganizerAndUsersById(1L)).thenThrow(EventNotFoundException.class);
+        eventService.findById(1);
+    }
+
+    @Test
+    public void shouldServeRepeatedLookupsFromCache() {
+        //given
+        Event event = events.get(0);
+        //when
+        when(eventRepository.findWithOrganizerAndUsersById(1L)).thenReturn(ofNullable(event));
+        when(eventRepository.findSummariesByName("party1")).thenReturn(summaries);
         eventService.findById(1);
+        Event eventById = eventService.findById(1);
+        eventService.findByName("party1");
+        List<EventSummary> eventsByName = eventService.findByName("PARTY1");
+        //then
+        assertEquals(event, eventById);
+        assertEquals(summaries, eventsByName);
+        verify(eventRepository, times(1)).findWithOrganizerAndUsersById(1L);
+        verify(eventRepository, times(1)).findSummariesByName("party1");
+        assertEquals(2, eventCache.stats().get("eventsById").getHits() + eventCache.stats().get("eventsByName").getHits());
+    }
+
+    @Test
+    public void shouldInvalidatePreviousAndNewKeysWhenEventIsUpdated() {
+        //given
+        Event stored = new Event("Party1", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        Event changes = new Event("Party9", LocalDate.of(2018, 11, 30), "Krakow", null);
+        when(eventRepository.findById(1L)).thenReturn(ofNullable(stored));
+        when(eventRepository.save(stored)).thenReturn(stored);
+        when(eventRepository.findSummariesByName("Party1")).thenReturn(summaries);
+        when(eventRepository.findSummariesByDate(LocalDate.of(2018, 11, 29))).thenReturn(summaries);
+        eventService.findByName("Party1");
+        eventService.findByDate(LocalDate.of(2018, 11, 29));
+        //when
+        eventService.updateEvent(changes, 1);
+        eventService.findByName("Party1");
+        eventService.findByDate(LocalDate.of(2018, 11, 29));
+        //then
+        verify(eventRepository, times(2)).findSummariesByName("Party1");
+        verify(eventRepository, times(2)).findSummariesByDate(LocalDate.of(2018, 11, 29));
+        verify(eventIndexer).saved(stored);
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void shouldRejectUpdateWhenExpectedVersionIsStale() {
+        //given
+        Event stored = new Event("Party1", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        when(eventRepository.findById(1L)).thenReturn(ofNullable(stored));
+        //when
+        eventService.updateEvent(new Event(), 1, 3L);
+    }
+
+    @Test
+    public void shouldResyncSeatsWhenCapacityChanges() {
+        //given
+        Event stored = new Event("Party1", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        Event changes = new Event("Party1", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        changes.setCapacity(50);
+        when(eventRepository.findById(1L)).thenReturn(ofNullable(stored));
+        when(eventRepository.save(stored)).thenReturn(stored);
+        //when
+        Event updated = eventService.updateEvent(changes, 1);
+        //then
+        assertEquals(Integer.valueOf(50), updated.getCapacity());
+        verify(eventRepository).resyncSeatsTaken(1L);
+        verify(seatReservations).invalidate(1L);
+    }
+
+    @Test
+    public void shouldKeepStoredCapacityWhenUpdateLeavesItOut() {
+        //given
+        Event stored = new Event("Party1", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        stored.setCapacity(50);
+        Event changes = new Event("Party2", LocalDate.of(2018, 11, 29), "Wroclaw", null);
+        when(eventRepository.findById(1L)).thenReturn(ofNullable(stored));
+        when(eventRepository.save(stored)).thenReturn(stored);
+        //when
+        Event updated = eventService.updateEvent(changes, 1);
+        //then
+        assertEquals(Integer.valueOf(50), updated.getCapacity());
+        verify(eventRepository, never()).resyncSeatsTaken(anyLong());
+        verify(seatReservations, never()).invalidate(anyLong());
     }
 
     @Test
@@ -95,16 +282,16 @@ public class EventServiceImpTest {
         //given
         String address = "Wroclaw";
         //when
-        when(eventRepository.findByAddressIgnoreCase(address)).thenReturn(events);
-        List<Event> eventsByAddress = eventService.findByAddress(address);
+        when(eventRepository.findSummariesByAddress(address)).thenReturn(summaries);
+        List<EventSummary> eventsByAddress = eventService.findByAddress(address);
         //then
-        assertEquals(events, eventsByAddress);
+        assertEquals(summaries, eventsByAddress);
     }
 
     @Test(expected = EventNotFoundException.class)
     public void shouldThrowNotFoundExceptionWhenGivenEventDoesNotExist() {
         //when
-        when(eventRepository.findByAddressIgnoreCase(anyString())).thenThrow(EventNotFoundException.class);
+        when(eventRepository.findSummariesByAddress(anyString())).thenThrow(EventNotFoundException.class);
         eventService.findByAddress("AnyAddress");
     }
 
@@ -114,10 +301,10 @@ public class EventServiceImpTest {
         LocalDate date = LocalDate.of(2018, 11, 29);
         Event event = events.get(0);
         //when
-        when(eventRepository.findByDate(date)).thenReturn(events);
-        List<Event> eventsByDate = eventService.findByDate(date);
+        when(eventRepository.findSummariesByDate(date)).thenReturn(summaries);
+        List<EventSummary> eventsByDate = eventService.findByDate(date);
         //then
-        assertEquals(events, eventsByDate);
+        assertEquals(summaries, eventsByDate);
     }
 
     @Test
@@ -126,10 +313,38 @@ public class EventServiceImpTest {
         LocalDate startDate = LocalDate.of(2016, 1, 1);
         LocalDate endDate = LocalDate.of(2019, 1, 1);
         //when
-        when(eventRepository.findByDateBetween(startDate, endDate)).thenReturn(events);
-        List<Event> eventsByDateRange = eventService.findByDateRange(startDate, endDate);
+        when(eventRepository.findSummariesByDateBetween(startDate, endDate)).thenReturn(summaries);
+        List<EventSummary> eventsByDateRange = eventService.findByDateRange(startDate, endDate);
+        //then
+        assertEquals(summaries.size(), eventsByDateRange.size());
+    }
+
+    @Test
+    public void shouldAnswerDateQueriesFromIndexesOnceLoaded() {
+        //given
+        LocalDate startDate = LocalDate.of(2016, 1, 1);
+        LocalDate endDate = LocalDate.of(2019, 1, 1);
+        EventSummary summary = new EventSummary(7L, "Party1", LocalDate.of(2018, 11, 29), "Wroclaw", "John", 2);
+        when(dateIndex.isReady()).thenReturn(true);
+        when(dateIndex.forEach(eq(startDate), eq(endDate), any())).thenAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(2).accept(7L);
+            invocation.<LongConsumer>getArgument(2).accept(8L);
+            return 2;
+        });
+        when(eventIndexer.get(7L)).thenReturn(summary);
+        //when
+        List<EventSummary> eventsByDateRange = eventService.findByDateRange(startDate, endDate);
         //then
-        assertEquals(events.size(), eventsByDateRange.size());
+        assertEquals(Collections.singletonList(summary), eventsByDateRange);
+        verify(eventRepository, never()).findSummariesByDateBetween(any(), any());
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenIndexHasNoEventOnDate() {
+        //given
+        when(dateIndex.isReady()).thenReturn(true);
+        //when
+        eventService.findByDate(LocalDate.of(2018, 11, 29));
     }
 
     @Test
@@ -149,10 +364,10 @@ public class EventServiceImpTest {
         String name = "Party1";
         String address = "Wroclaw";
         LocalDate date = LocalDate.of(2018, 11, 29);
-        List<Event> eventsList = Collections.singletonList(events.get(0));
+        List<EventSummary> eventsList = Collections.singletonList(summaries.get(0));
         //when
-        when(eventRepository.findByNameAndAddressAndDate(name, address, date)).thenReturn(eventsList);
-        List<Event> eventByNameAndAddressAndDate = eventService.findByNameAndAddressAndDate(name, address, date);
+        when(eventRepository.findSummariesByNameAndAddressAndDate(name, address, date)).thenReturn(eventsList);
+        List<EventSummary> eventByNameAndAddressAndDate = eventService.findByNameAndAddressAndDate(name, address, date);
         //then
         assertEquals(1, eventByNameAndAddressAndDate.size());
         assertEquals(name, eventByNameAndAddressAndDate.get(0).getName());
@@ -166,15 +381,22 @@ public class EventServiceImpTest {
         String name = "Party1";
         String address = "";
         LocalDate date = LocalDate.now();
-        List<Event> eventsList = Collections.singletonList(events.get(0));
+        List<EventSummary> eventsList = Collections.singletonList(summaries.get(0));
         //when
-        when(eventRepository.findByNameAndAddressAndDate(name, address, date)).thenReturn(eventsList);
-        List<Event> eventByNameAndAddressAndDate = eventService.findByNameAndAddressAndDate(name, address, date);
+        when(eventRepository.findSummariesByNameAndAddressAndDate(name, address, date)).thenReturn(eventsList);
+        List<EventSummary> eventByNameAndAddressAndDate = eventService.findByNameAndAddressAndDate(name, address, date);
         //then
         assertEquals(1, eventByNameAndAddressAndDate.size());
         assertEquals(name, eventByNameAndAddressAndDate.get(0).getName());
     }
 
+    private List<EventSummary> generateSummariesList() {
+        return Arrays.asList(
+                new EventSummary(1L, "Party1", LocalDate.of(2018, 11, 29), "Wroclaw", "John", 10),
+                new EventSummary(2L, "Party2", LocalDate.of(2018, 12, 27), "Wroclaw", "John", 0),
+                new EventSummary(3L, "Party3", LocalDate.of(2019, 3, 25), "Wroclaw", "John", 3));
+    }
+
     private List<Event> generateEventsList() {
         Organizer organizer = new Organizer("John", "m2@gmail.com");
         return Arrays.asList(
@@ -0,0 +1,67 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.InvalidRequestException;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ImportRowReaderTest {
+
+    @Test
+    public void shouldReadQuotedCsvFieldsAndTrackLines() {
+        //given
+        String csv = "name,address\r\n\"Jazz, Night\",\"Main \"\"Street\"\"\n1\"\n\nRock,Market\n";
+        //when
+        List<ImportRow> rows = read(csv, ImportRowReader.TEXT_CSV);
+        //then
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).getLine());
+        assertEquals("Jazz, Night", rows.get(0).get("name"));
+        assertEquals("Main \"Street\"\n1", rows.get(0).get("address"));
+        assertEquals(5, rows.get(1).getLine());
+        assertEquals("Market", rows.get(1).get("address"));
+    }
+
+    @Test
+    public void shouldReportCsvRowWithWrongNumberOfColumns() {
+        //when
+        List<ImportRow> rows = read("name,address\nJazz\n", ImportRowReader.TEXT_CSV);
+        //then
+        assertEquals("Expected 2 columns but found 1", rows.get(0).getError());
+    }
+
+    @Test
+    public void shouldFlattenNestedJsonObjectsToDottedColumns() {
+        //given
+        String ndjson = "{\"name\":\"Jazz\",\"capacity\":10,\"organizer\":{\"email\":\"john@gmail.com\"},\"note\":null}\n"
+                + "\n"
+                + "{broken\n";
+        //when
+        List<ImportRow> rows = read(ndjson, ImportRowReader.NDJSON);
+        //then
+        assertEquals(2, rows.size());
+        assertEquals("10", rows.get(0).get("capacity"));
+        assertEquals("john@gmail.com", rows.get(0).get("organizer.email"));
+        assertNull(rows.get(0).get("note"));
+        assertEquals(3, rows.get(1).getLine());
+        assertEquals(true, rows.get(1).getError().startsWith("Malformed JSON"));
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectUnsupportedFormat() {
+        read("", MediaType.APPLICATION_XML);
+    }
+
+    private List<ImportRow> read(String body, MediaType format) {
+        List<ImportRow> rows = new ArrayList<>();
+        ImportRowReader.open(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format).forEachRemaining(rows::add);
+        return rows;
+    }
+}
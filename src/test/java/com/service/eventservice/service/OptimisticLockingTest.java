@@ -0,0 +1,70 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.PreconditionFailedException;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.EventRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "updates.retry.max-attempts=50")
+@AutoConfigureTestDatabase
+public class OptimisticLockingTest {
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    public void shouldApplyEveryConcurrentUpdateByRetryingConflicts() throws Exception {
+        //given
+        Event stored = eventRepository.save(new Event("gig", LocalDate.of(2019, 6, 1), "Wroclaw", new Organizer("John", "john@gmail.com")));
+        long eventId = stored.getId();
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Event>> results = new ArrayList<>();
+        //when
+        for (int i = 0; i < writers; i++) {
+            Event changes = new Event("gig " + i, LocalDate.of(2019, 6, 1), "Wroclaw", null);
+            results.add(executor.submit(() -> {
+                start.await();
+                return eventService.updateEvent(changes, eventId);
+            }));
+        }
+        start.countDown();
+        for (Future<Event> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        //then
+        assertEquals(stored.getVersion() + writers, eventRepository.findById(eventId).orElseThrow(AssertionError::new).getVersion());
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void shouldRejectUpdateAgainstStaleVersion() {
+        //given
+        Event stored = eventRepository.save(new Event("gig", LocalDate.of(2019, 6, 1), "Wroclaw", null));
+        Event updated = eventService.updateEvent(new Event("gig!", LocalDate.of(2019, 6, 1), "Wroclaw", null), stored.getId(), stored.getVersion());
+        assertEquals(stored.getVersion() + 1, updated.getVersion());
+        //when
+        eventService.updateEvent(new Event("gig?", LocalDate.of(2019, 6, 1), "Wroclaw", null), stored.getId(), stored.getVersion());
+    }
+}
@@ -0,0 +1,56 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.EventNotFoundException;
+import com.service.eventservice.model.Event;
+import org.junit.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class OptimisticRetryTest {
+
+    private AtomicInteger attempts = new AtomicInteger();
+    private OptimisticRetry retry = OptimisticRetry.withoutTransactions(3, 1);
+
+    @Test
+    public void shouldRetryConflictingWorkUntilItCommits() {
+        //when
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Event.class, 1L);
+            }
+            return "saved";
+        });
+        //then
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void shouldRethrowConflictAfterMaxAttempts() {
+        //when
+        try {
+            retry.execute(() -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(Event.class, 1L);
+            });
+            fail("Expected the conflict to be rethrown");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            //then
+            assertEquals(3, attempts.get());
+        }
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldNotRetryOtherFailures() {
+        retry.execute(() -> {
+            if (attempts.incrementAndGet() > 1) {
+                fail("Retried a failure that was not a conflict");
+            }
+            throw new EventNotFoundException("Event not found 1");
+        });
+    }
+}
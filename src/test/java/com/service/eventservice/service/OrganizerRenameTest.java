@@ -0,0 +1,42 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.Organizer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class OrganizerRenameTest {
+
+    @Autowired
+    private OrganizerService organizerService;
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    public void shouldReturnRenamedOrganizerFromDateQueries() {
+        //given
+        LocalDate date = LocalDate.of(2031, 3, 14);
+        Event stored = eventService.createEvent(new Event("gig", date, "Wroclaw", new Organizer("John", "john@gmail.com")));
+        eventService.findByDate(date);
+        //when
+        organizerService.updateUserById(new Organizer("Johnny", "johnny@gmail.com"), stored.getOrganizer().getId());
+        List<EventSummary> onDate = eventService.findByDate(date);
+        List<EventSummary> inRange = eventService.findByDateRange(date, date);
+        //then
+        assertEquals("Johnny", onDate.get(0).getOrganizerName());
+        assertEquals("Johnny", inRange.get(0).getOrganizerName());
+    }
+}
@@ -1,8 +1,11 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
 import com.service.eventservice.exception.OrganizerNotFoundException;
 import com.service.eventservice.model.Organizer;
+import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.OrganizerRepository;
+import com.service.eventservice.search.EventIndexer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -23,6 +26,12 @@ public class OrganizerServiceImplTest {
 
     @Mock
     private OrganizerRepository organizerRepository;
+    @Mock
+    private EventCache eventCache;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventIndexer eventIndexer;
     @InjectMocks
     private OrganizerServiceImpl organizerService;
 
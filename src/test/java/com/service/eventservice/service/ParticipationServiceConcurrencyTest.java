@@ -0,0 +1,80 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.exception.EventFullException;
+import com.service.eventservice.model.Event;
+import com.service.eventservice.model.Organizer;
+import com.service.eventservice.model.User;
+import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.search.EventIndexer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class ParticipationServiceConcurrencyTest {
+
+    @Autowired
+    private ParticipationService participationService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventIndexer eventIndexer;
+
+    @Test
+    public void shouldNotOversellEventUnderConcurrentRegistrations() throws Exception {
+        //given
+        int capacity = 50;
+        Event concert = new Event("concert", LocalDate.of(2019, 6, 1), "Wroclaw", new Organizer("John", "john@gmail.com"));
+        concert.setCapacity(capacity);
+        long eventId = eventRepository.save(concert).getId();
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            userIds.add(userRepository.save(new User("password", "fan" + i, "fan" + i + "@gmail.com")).getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        //when
+        for (Long userId : userIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    participationService.addUserToEvent(eventId, userId);
+                    return true;
+                } catch (EventFullException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            admitted += result.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+        //then
+        assertEquals(capacity, admitted);
+        assertEquals(capacity, eventRepository.findSummaryById(eventId).get().getParticipantCount());
+        assertEquals(capacity, eventRepository.findById(eventId).get().getSeatsTaken());
+        assertEquals(capacity, eventIndexer.get(eventId).getParticipantCount());
+    }
+}
@@ -1,12 +1,21 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.cache.SecondLevelCache;
+import com.service.eventservice.exception.EventFullException;
 import com.service.eventservice.exception.EventNotFoundException;
-import com.service.eventservice.exception.ParticipationNotFoundException;
+import com.service.eventservice.exception.InvalidRequestException;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.CursorPage;
 import com.service.eventservice.model.Event;
+import com.service.eventservice.model.EventSummary;
+import com.service.eventservice.model.ParticipationOutcome;
 import com.service.eventservice.model.User;
+import com.service.eventservice.model.UserSummary;
 import com.service.eventservice.repository.EventRepository;
+import com.service.eventservice.repository.ParticipationRepository;
 import com.service.eventservice.repository.UserRepository;
+import com.service.eventservice.search.EventIndexer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,11 +23,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 import static java.util.Optional.*;
 import static org.junit.Assert.*;
@@ -31,6 +42,16 @@ public class ParticipationServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private EventRepository eventRepository;
+    @Mock
+    private ParticipationRepository participationRepository;
+    @Mock
+    private SeatReservations seatReservations;
+    @Mock
+    private EventCache eventCache;
+    @Mock
+    private SecondLevelCache secondLevelCache;
+    @Mock
+    private EventIndexer eventIndexer;
     @InjectMocks
     private ParticipationServiceImpl participationService;
 
@@ -45,6 +66,8 @@ public class ParticipationServiceImplTest {
         secondMockedEvent = mock(Event.class);
         firstMockedUser = mock(User.class);
         secondMockedUser = mock(User.class);
+        when(seatReservations.hasSeatsLeft(anyLong())).thenReturn(true);
+        when(seatReservations.tryReserve(anyLong(), anyInt())).thenReturn(true);
     }
 
     @Test
@@ -61,78 +84,240 @@ public class ParticipationServiceImplTest {
     }
 
     @Test
-    public void shouldReturnUsersByEventId() {
+    public void shouldReturnFirstPageOfParticipantsWithTotal() {
         //given
-        when(firstMockedUser.getUsername()).thenReturn("jack");
-        when(secondMockedUser.getUsername()).thenReturn("john");
-        Set<User> users = new HashSet<>();
-        users.add(firstMockedUser);
-        users.add(secondMockedUser);
-        when(firstMockedEvent.getUsers()).thenReturn(users);
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(firstMockedEvent));
+        List<UserSummary> users = Arrays.asList(
+                new UserSummary(1L, "jack", "jack@gmail.com"),
+                new UserSummary(2L, "john", "john@gmail.com"),
+                new UserSummary(3L, "jill", "jill@gmail.com"));
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(participationRepository.findParticipantsAfter(1L, Long.MIN_VALUE, 3)).thenReturn(users);
+        when(participationRepository.countParticipants(1L)).thenReturn(3L);
         //when
-        Set<User> usersByEventId = participationService.findByEventId(1L);
+        CursorPage<UserSummary> page = participationService.findParticipants(1L, null, 2);
         //then
-        assertEquals(users, usersByEventId);
+        assertEquals(users.subList(0, 2), page.getItems());
+        assertEquals(CursorCodec.encode("2"), page.getNextCursor());
+        assertEquals(Long.valueOf(3), page.getTotal());
     }
 
-    @Test(expected = ParticipationNotFoundException.class)
-    public void shouldThrowParticipationNotFoundExceptionWhenParticipationDoesNotExist() {
-        when(eventRepository.findById(1L)).thenThrow(ParticipationNotFoundException.class);
-        participationService.findByEventId(1L);
+    @Test
+    public void shouldContinueParticipantsAfterCursor() {
+        //given
+        List<UserSummary> users = Collections.singletonList(new UserSummary(3L, "jill", "jill@gmail.com"));
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(participationRepository.findParticipantsAfter(1L, 2L, 3)).thenReturn(users);
+        when(participationRepository.countParticipants(1L)).thenReturn(3L);
+        //when
+        CursorPage<UserSummary> page = participationService.findParticipants(1L, CursorCodec.encode("2"), 2);
+        //then
+        assertEquals(users, page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectMalformedParticipantsCursor() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        participationService.findParticipants(1L, CursorCodec.encode("jack"), 2);
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldThrowEventNotFoundExceptionWhenListingParticipantsOfMissingEvent() {
+        when(eventRepository.existsById(1L)).thenReturn(false);
+        participationService.findParticipants(1L, null, 20);
     }
 
     @Test
-    public void shouldReturnCreatedEvent() {
+    public void shouldInsertParticipationRowAndReturnEventSummary() {
         //given
-        when(firstMockedEvent.getName()).thenReturn("party");
-        when(firstMockedUser.getUsername()).thenReturn("jack");
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(firstMockedEvent));
-        when(userRepository.findById(1L)).thenReturn(ofNullable(firstMockedUser));
+        EventSummary summary = new EventSummary(1L, "party", LocalDate.of(2019, 1, 1), "Wroclaw", "John", 1);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(summary));
         //when
-        Event event = participationService.addUserToEvent(1L, 1L);
-        assertEquals(firstMockedEvent, event);
+        EventSummary event = participationService.addUserToEvent(1L, 1L);
+        //then
+        assertEquals(summary, event);
+        verify(participationRepository).add(1L, 1L);
+        verify(eventCache).evict(summary);
+        verify(eventIndexer).refresh(1L);
+        verify(eventRepository, never()).findWithOrganizerAndUsersById(anyLong());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    public void shouldEvictCachedEventAgainOnceParticipationCommitted() {
+        //given
+        EventSummary summary = new EventSummary(1L, "party", LocalDate.of(2019, 1, 1), "Wroclaw", "John", 1);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(summary));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            participationService.addUserToEvent(1L, 1L);
+            verify(eventCache, times(1)).evict(summary);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            //then
+            verify(eventCache, times(2)).evict(summary);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test(expected = UserNotFoundException.class)
     public void shouldThrowUserNotFoundExceptionWhenUserDoesNotExistDuringCreatingParticipation() {
-        when(userRepository.findById(1L)).thenThrow(UserNotFoundException.class);
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(firstMockedEvent));
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(false);
         participationService.addUserToEvent(1L, 1L);
     }
 
     @Test(expected = EventNotFoundException.class)
     public void shouldThrowEventNotFoundExceptionWhenEventDoesNotExistDuringCreatingParticipation() {
-        when(userRepository.findById(1L)).thenReturn(ofNullable(firstMockedUser));
-        when(eventRepository.findById(1L)).thenThrow(EventNotFoundException.class);
+        when(eventRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.existsById(1L)).thenReturn(true);
         participationService.addUserToEvent(1L, 1L);
     }
 
     @Test
-    public void shouldReturnDeletedUserByUserId() {
+    public void shouldDeleteParticipationRowAndReturnEventSummary() {
         //given
-        when(firstMockedEvent.getName()).thenReturn("party");
-        when(firstMockedUser.getUsername()).thenReturn("jack");
-        when(userRepository.findById(1L)).thenReturn(ofNullable(firstMockedUser));
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(firstMockedEvent));
+        EventSummary summary = new EventSummary(1L, "party", LocalDate.of(2019, 1, 1), "Wroclaw", "John", 0);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(summary));
         //when
-        Event deletedEvent = participationService.deleteUserByUserIdFromEvent(1L, 1L);
+        EventSummary deletedEvent = participationService.deleteUserByUserIdFromEvent(1L, 1L);
         //then
-        assertEquals(firstMockedEvent, deletedEvent);
+        assertEquals(summary, deletedEvent);
+        verify(participationRepository).remove(1L, 1L);
+        verify(eventCache).evict(summary);
     }
 
     @Test(expected = UserNotFoundException.class)
     public void shouldThrowUserNotFoundExceptionWhenUserDoesNotExistDuringDeletingParticipation() {
-        when(userRepository.findById(1L)).thenThrow(UserNotFoundException.class);
-        when(eventRepository.findById(1L)).thenReturn(ofNullable(firstMockedEvent));
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(false);
         participationService.deleteUserByUserIdFromEvent(1L, 1L);
     }
 
     @Test(expected = EventNotFoundException.class)
     public void shouldThrowEventNotFoundExceptionWhenEventDoesNotExistDuringDeletingParticipation() {
-        when(userRepository.findById(1L)).thenReturn(ofNullable(firstMockedUser));
-        when(eventRepository.findById(1L)).thenThrow(EventNotFoundException.class);
+        when(eventRepository.existsById(1L)).thenReturn(false);
+        try {
+            participationService.deleteUserByUserIdFromEvent(1L, 1L);
+        } finally {
+            verify(participationRepository, never()).remove(anyLong(), anyLong());
+        }
+    }
+
+    @Test
+    public void shouldBatchInsertExistingUsersAndReportOutcomePerUser() {
+        //given
+        when(firstMockedUser.getId()).thenReturn(1L);
+        when(secondMockedUser.getId()).thenReturn(2L);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findAllById(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(firstMockedUser, secondMockedUser));
+        when(participationRepository.addAll(1L, Arrays.asList(1L, 2L))).thenReturn(new int[]{1, 0});
+        //when
+        List<ParticipationOutcome> outcomes = participationService.addUsersToEvent(1L, Arrays.asList(1L, 2L, 3L, 1L));
+        //then
+        assertEquals(Arrays.asList(
+                new ParticipationOutcome(1L, ParticipationOutcome.Status.ADDED),
+                new ParticipationOutcome(2L, ParticipationOutcome.Status.ALREADY_PARTICIPATING),
+                new ParticipationOutcome(3L, ParticipationOutcome.Status.USER_NOT_FOUND)), outcomes);
+        verify(eventRepository).findSummaryById(1L);
+        verify(seatReservations).tryReserve(1L, 1);
+        verify(secondLevelCache).evictParticipants(1L);
+    }
+
+    @Test
+    public void shouldBatchDeleteUsersAndReportOutcomePerUser() {
+        //given
+        when(firstMockedUser.getId()).thenReturn(1L);
+        when(secondMockedUser.getId()).thenReturn(2L);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(firstMockedUser, secondMockedUser));
+        when(participationRepository.removeAll(1L, Arrays.asList(1L, 2L))).thenReturn(new int[]{0, 1});
+        //when
+        List<ParticipationOutcome> outcomes = participationService.deleteUsersFromEvent(1L, Arrays.asList(1L, 2L));
+        //then
+        assertEquals(Arrays.asList(
+                new ParticipationOutcome(1L, ParticipationOutcome.Status.NOT_PARTICIPATING),
+                new ParticipationOutcome(2L, ParticipationOutcome.Status.REMOVED)), outcomes);
+        verify(seatReservations).release(1L, 1);
+        verify(secondLevelCache).evictParticipants(1L);
+    }
+
+    @Test
+    public void shouldNotWriteWhenNoneOfTheUsersExist() {
+        //given
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findAllById(Collections.singletonList(5L))).thenReturn(Collections.emptyList());
+        //when
+        List<ParticipationOutcome> outcomes = participationService.addUsersToEvent(1L, Collections.singletonList(5L));
+        //then
+        assertEquals(Collections.singletonList(new ParticipationOutcome(5L, ParticipationOutcome.Status.USER_NOT_FOUND)), outcomes);
+        verify(participationRepository, never()).addAll(anyLong(), anyList());
+    }
+
+    @Test(expected = EventNotFoundException.class)
+    public void shouldThrowEventNotFoundExceptionWhenEventDoesNotExistDuringBatchParticipation() {
+        when(eventRepository.existsById(1L)).thenReturn(false);
+        participationService.addUsersToEvent(1L, Collections.singletonList(1L));
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectEmptyBatch() {
+        participationService.addUsersToEvent(1L, Collections.emptyList());
+    }
+
+    @Test(expected = EventFullException.class)
+    public void shouldRejectParticipationWithoutWritingWhenEventIsSoldOut() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(seatReservations.hasSeatsLeft(1L)).thenReturn(false);
+        try {
+            participationService.addUserToEvent(1L, 1L);
+        } finally {
+            verify(participationRepository, never()).add(anyLong(), anyLong());
+        }
+    }
+
+    @Test(expected = EventFullException.class)
+    public void shouldThrowEventFullExceptionWhenLastSeatIsTakenConcurrently() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participationRepository.add(1L, 1L)).thenReturn(true);
+        when(seatReservations.tryReserve(1L, 1)).thenReturn(false);
+        participationService.addUserToEvent(1L, 1L);
+    }
+
+    @Test
+    public void shouldNotReserveSeatWhenUserAlreadyParticipates() {
+        //given
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participationRepository.add(1L, 1L)).thenReturn(false);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(new EventSummary(1L, "party", null, "Wroclaw", "John", 1)));
+        //when
+        participationService.addUserToEvent(1L, 1L);
+        //then
+        verify(seatReservations, never()).tryReserve(anyLong(), anyInt());
+        verify(secondLevelCache, never()).evictParticipants(anyLong());
+    }
+
+    @Test
+    public void shouldReleaseSeatWhenParticipationIsRemoved() {
+        //given
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participationRepository.remove(1L, 1L)).thenReturn(true);
+        when(eventRepository.findSummaryById(1L)).thenReturn(of(new EventSummary(1L, "party", null, "Wroclaw", "John", 0)));
+        //when
         participationService.deleteUserByUserIdFromEvent(1L, 1L);
+        //then
+        verify(seatReservations).release(1L, 1);
     }
 
-}
\ No newline at end of file
+}
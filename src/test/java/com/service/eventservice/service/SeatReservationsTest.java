@@ -0,0 +1,165 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.repository.EventRepository;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class SeatReservationsTest {
+
+    private EventRepository eventRepository = mock(EventRepository.class);
+    private SeatReservations seatReservations = new SeatReservations(eventRepository);
+
+    @Test
+    public void shouldRejectWithoutDatabaseRoundTripOnceSoldOut() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(1));
+        when(eventRepository.reserveSeats(1L, 1)).thenReturn(1);
+        //when
+        boolean first = seatReservations.tryReserve(1L, 1);
+        boolean second = seatReservations.tryReserve(1L, 1);
+        //then
+        assertTrue(first);
+        assertFalse(second);
+        assertFalse(seatReservations.hasSeatsLeft(1L));
+        verify(eventRepository, times(1)).reserveSeats(1L, 1);
+        verify(eventRepository, times(1)).findSeatsLeftById(1L);
+    }
+
+    @Test
+    public void shouldReloadCounterWhenDatabaseRejectsReservation() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(5)).thenReturn(Optional.of(0));
+        when(eventRepository.reserveSeats(1L, 1)).thenReturn(0);
+        //when
+        boolean reserved = seatReservations.tryReserve(1L, 1);
+        //then
+        assertFalse(reserved);
+        assertFalse(seatReservations.hasSeatsLeft(1L));
+        verify(eventRepository, times(2)).findSeatsLeftById(1L);
+    }
+
+    @Test
+    public void shouldReopenSeatsWhenReleased() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(1));
+        when(eventRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(eventRepository.releaseSeats(1L, 1)).thenReturn(1);
+        seatReservations.tryReserve(1L, 1);
+        //when
+        seatReservations.release(1L, 1);
+        //then
+        assertTrue(seatReservations.hasSeatsLeft(1L));
+        verify(eventRepository).releaseSeats(1L, 1);
+    }
+
+    @Test
+    public void shouldNotCountSeatsOfEventWithoutCapacity() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(Integer.MAX_VALUE));
+        when(eventRepository.reserveSeats(1L, 1)).thenReturn(1);
+        seatReservations.tryReserve(1L, 1);
+        //when
+        seatReservations.release(1L, 1);
+        seatReservations.release(1L, 1);
+        //then
+        assertTrue(seatReservations.hasSeatsLeft(1L));
+        assertTrue(seatReservations.tryReserve(1L, 1));
+        verify(eventRepository, times(2)).reserveSeats(1L, 1);
+    }
+
+    @Test
+    public void shouldReturnReleasedSeatsOnlyAfterCommitAndOnlyWhenReleasedInDatabase() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(1));
+        when(eventRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(eventRepository.releaseSeats(1L, 1)).thenReturn(0);
+        when(eventRepository.releaseSeats(1L, 2)).thenReturn(1);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        seatReservations.tryReserve(1L, 1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            seatReservations.release(1L, 1);
+            seatReservations.release(1L, 2);
+            boolean beforeCommit = seatReservations.hasSeatsLeft(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            //then
+            assertFalse(beforeCommit);
+            assertTrue(seatReservations.tryReserve(1L, 2));
+            assertFalse(seatReservations.hasSeatsLeft(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void shouldDropCounterOnlyOnceInvalidatingChangeCommitted() {
+        //given
+        when(eventRepository.findSeatsLeftById(1L)).thenReturn(Optional.of(5)).thenReturn(Optional.of(50));
+        seatReservations.hasSeatsLeft(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            seatReservations.invalidate(1L);
+            seatReservations.hasSeatsLeft(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            seatReservations.hasSeatsLeft(1L);
+            //then
+            verify(eventRepository, times(2)).findSeatsLeftById(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void shouldAdmitExactlyCapacityUnderConcurrentLoad() throws Exception {
+        //given
+        int capacity = 1000;
+        int threads = 16;
+        int attemptsPerThread = 500;
+        when(eventRepository.findSeatsLeftById(anyLong())).thenReturn(Optional.of(capacity));
+        when(eventRepository.reserveSeats(anyLong(), anyInt())).thenReturn(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        //when
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int admitted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (seatReservations.tryReserve(1L, 1)) {
+                        admitted++;
+                    }
+                }
+                return admitted;
+            }));
+        }
+        start.countDown();
+        int admitted = 0;
+        for (Future<Integer> result : results) {
+            admitted += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        //then
+        assertEquals(capacity, admitted);
+        verify(eventRepository, times(capacity)).reserveSeats(1L, 1);
+    }
+}
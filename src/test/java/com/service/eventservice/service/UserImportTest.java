@@ -0,0 +1,68 @@
+package com.service.eventservice.service;
+
+import com.service.eventservice.model.ImportError;
+import com.service.eventservice.model.ImportReport;
+import com.service.eventservice.model.User;
+import com.service.eventservice.repository.UserRepository;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class UserImportTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @After
+    public void tearDown() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getUsername() != null && user.getUsername().startsWith("bulk"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldImportUsersAndRejectInvalidEmailsAndDuplicateUsernames() {
+        //given
+        userRepository.save(new User("password", "bulk1500", "taken@gmail.com"));
+        long usersBefore = userRepository.count();
+        StringBuilder csv = new StringBuilder("username,email,password\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append("bulk").append(i).append(",bulk").append(i).append("@gmail.com,secret\n");
+        }
+        csv.append("bulk7,again@gmail.com,secret\n")
+                .append("bulk-broken,not-an-email,secret\n")
+                .append(",nobody@gmail.com,secret\n");
+        //when
+        ImportReport report = userService.importUsers(body(csv.toString()), ImportRowReader.TEXT_CSV);
+        //then
+        assertEquals(2003, report.getReceived());
+        assertEquals(1999, report.getImported());
+        assertEquals(Arrays.asList(
+                new ImportError(1502, "Username bulk1500 already exists"),
+                new ImportError(2002, "Duplicate username bulk7 in import"),
+                new ImportError(2003, "email must be a well-formed email address"),
+                new ImportError(2004, "Missing username")), report.getErrors());
+        assertEquals(usersBefore + 1999, userRepository.count());
+        assertEquals("bulk7@gmail.com", userService.findByUsername("bulk7").get(0).getEmail());
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
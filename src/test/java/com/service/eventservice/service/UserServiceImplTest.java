@@ -1,13 +1,18 @@
 package com.service.eventservice.service;
 
+import com.service.eventservice.cache.EventCache;
+import com.service.eventservice.exception.InvalidRequestException;
 import com.service.eventservice.exception.UserNotFoundException;
+import com.service.eventservice.model.LookupResult;
 import com.service.eventservice.model.User;
+import com.service.eventservice.repository.EventRepository;
 import com.service.eventservice.repository.UserRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.ArrayList;
@@ -26,6 +31,12 @@ public class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventCache eventCache;
+    @Spy
+    private OptimisticRetry optimisticRetry = OptimisticRetry.withoutTransactions(1, 0);
     @InjectMocks
     private UserServiceImpl userService;
     private List<User> users;
@@ -35,6 +46,30 @@ public class UserServiceImplTest {
         users = generateListOfPeople();
     }
 
+    @Test
+    public void shouldReturnUsersInRequestedOrderAndReportMissingIds() {
+        //given
+        User first = mock(User.class);
+        User third = mock(User.class);
+        when(first.getId()).thenReturn(1L);
+        when(third.getId()).thenReturn(3L);
+        when(userRepository.findAllById(Arrays.asList(3L, 2L, 1L))).thenReturn(Arrays.asList(first, third));
+        //when
+        LookupResult<User> result = userService.findByIds(Arrays.asList(3L, 2L, 3L, 1L));
+        //then
+        assertEquals(Arrays.asList(third, first), result.getItems());
+        assertEquals(Collections.singletonList(2L), result.getMissingIds());
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void shouldRejectLookupOfMoreThanMaxIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= IdLookup.MAX_IDS; id++) {
+            ids.add(id);
+        }
+        userService.findByIds(ids);
+    }
+
     @Test
     public void shouldReturnEmptyList() {
         //given
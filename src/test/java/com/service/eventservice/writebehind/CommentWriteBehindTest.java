@@ -0,0 +1,145 @@
+package com.service.eventservice.writebehind;
+
+import com.service.eventservice.exception.CommentQueueFullException;
+import com.service.eventservice.exception.CommentRejectedException;
+import com.service.eventservice.exception.CommentWriteTimeoutException;
+import com.service.eventservice.model.PendingComment;
+import com.service.eventservice.repository.CommentBatchRepository;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class CommentWriteBehindTest {
+
+    private CommentBatchRepository commentBatchRepository = mock(CommentBatchRepository.class);
+    private PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private CommentWriteBehind writeBehind;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    private CommentWriteBehind start(AckMode ackMode, int capacity, int batchSize, long flushIntervalMillis) {
+        writeBehind = new CommentWriteBehind(commentBatchRepository, transactionManager,
+                true, ackMode, capacity, batchSize, flushIntervalMillis, 10, 5000);
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    @Test
+    public void shouldWriteQueuedCommentsInBatchesNoLargerThanBatchSize() throws InterruptedException {
+        //given
+        CommentWriteBehind writeBehind = start(AckMode.ENQUEUE, 100, 4, 20);
+        //when
+        for (int i = 0; i < 10; i++) {
+            writeBehind.submit(new PendingComment("comment " + i, 1L, 1L));
+        }
+        writeBehind.stop();
+        //then
+        verify(commentBatchRepository, atLeast(3)).insertAll(argThat(batch -> batch.size() <= 4));
+        assertEquals(10, writeBehind.stats().getWritten());
+        assertEquals(10, writeBehind.stats().getAccepted());
+        assertEquals(0, writeBehind.stats().getQueueDepth());
+    }
+
+    @Test
+    public void shouldAcknowledgeOnlyAfterFlushInFlushMode() {
+        //given
+        CommentWriteBehind writeBehind = start(AckMode.FLUSH, 100, 500, 5);
+        //when
+        writeBehind.submit(new PendingComment("hello", 1L, 1L));
+        //then
+        verify(commentBatchRepository).insertAll(anyList());
+        assertEquals(1, writeBehind.stats().getWritten());
+        assertEquals(1, writeBehind.stats().getBatches());
+    }
+
+    @Test
+    public void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        //given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(commentBatchRepository).insertAll(anyList());
+        CommentWriteBehind writeBehind = start(AckMode.ENQUEUE, 1, 1, 5);
+        writeBehind.submit(new PendingComment("first", 1L, 1L));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        writeBehind.submit(new PendingComment("second", 1L, 1L));
+        //when
+        try {
+            writeBehind.submit(new PendingComment("third", 1L, 1L));
+            fail("Expected the queue to be full");
+        } catch (CommentQueueFullException e) {
+            //then
+            assertEquals(1, writeBehind.stats().getRejected());
+            assertEquals(1, writeBehind.stats().getQueueDepth());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldRetryFailedBatchOneByOneAndFailOnlyTheBadComment() {
+        //given
+        PendingComment bad = new PendingComment("orphan", 1L, 99L);
+        doThrow(new DataIntegrityViolationException("fk")).when(commentBatchRepository).insertAll(anyList());
+        doThrow(new DataIntegrityViolationException("fk")).when(commentBatchRepository).insert(bad);
+        CommentWriteBehind writeBehind = start(AckMode.FLUSH, 100, 500, 5);
+        //when
+        writeBehind.submit(new PendingComment("fine", 1L, 1L));
+        try {
+            writeBehind.submit(bad);
+            fail("Expected the orphan comment to fail");
+        } catch (CommentRejectedException e) {
+            //then
+            assertEquals(2, writeBehind.stats().getAccepted());
+            assertEquals(1, writeBehind.stats().getWritten());
+            assertEquals(1, writeBehind.stats().getFailed());
+        }
+    }
+
+    @Test
+    public void shouldReportTimeoutAndStillWriteCommentAcknowledgedTooLate() throws InterruptedException {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(commentBatchRepository).insertAll(anyList());
+        writeBehind = new CommentWriteBehind(commentBatchRepository, transactionManager,
+                true, AckMode.FLUSH, 100, 500, 5, 10, 20);
+        writeBehind.start();
+        //when
+        try {
+            writeBehind.submit(new PendingComment("slow", 1L, 1L));
+            fail("Expected the acknowledgement to time out");
+        } catch (CommentWriteTimeoutException e) {
+            release.countDown();
+        }
+        writeBehind.stop();
+        //then
+        assertEquals(1, writeBehind.stats().getWritten());
+    }
+
+    @Test(expected = CommentQueueFullException.class)
+    public void shouldRejectWhenNotRunning() {
+        writeBehind = new CommentWriteBehind(commentBatchRepository, transactionManager,
+                false, AckMode.ENQUEUE, 10, 10, 10, 10, 10);
+        writeBehind.start();
+        writeBehind.submit(new PendingComment("hello", 1L, 1L));
+    }
+}